@@ -0,0 +1,23 @@
+package generators.compression.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the allocation profiler, the arguments are the usual JMH options
+ * (e.g. a benchmark regex or -p size=1024 to restrict the parameters)
+ */
+public class BenchmarkMain {
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions options = new CommandLineOptions(args);
+        OptionsBuilder builder = new OptionsBuilder();
+        builder.parent(options).addProfiler(GCProfiler.class);
+        if(options.getIncludes().isEmpty()) builder.include(BenchmarkMain.class.getPackage().getName() + ".*");
+        new Runner(builder.build()).run();
+    }
+}
@@ -0,0 +1,124 @@
+package generators.compression.benchmarks;
+
+import generators.compression.HelpersArithmetischeKodierung.ArithmeticInputStream;
+import generators.compression.HelpersArithmetischeKodierung.ArithmeticOutputStream;
+import generators.compression.HelpersArithmetischeKodierung.BlockArithmeticCodec;
+import generators.compression.HelpersArithmetischeKodierung.FrequencyCounter;
+import generators.compression.HelpersArithmetischeKodierung.FrequencyTable;
+import generators.compression.HelpersArithmetischeKodierung.RansCoder;
+import generators.compression.HelpersArithmetischeKodierung.StaticFrequencyTable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Encode and decode speed of the coding engines. Every benchmark adds the processed input bytes to {@link Throughput},
+ * so JMH reports bytes per millisecond next to the time per call (ns/symbol = time per call / size).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class CoderBenchmark {
+
+    /**
+     * The distribution of the input
+     */
+    @Param({"UNIFORM", "SKEWED", "ZIPF", "ENGLISH"})
+    public InputData input;
+
+    /**
+     * The number of input bytes (1 KB, 1 MB, 100 MB)
+     */
+    @Param({"1024", "1048576", "104857600"})
+    public int size;
+
+    private byte[] data;
+    private int[] symbols;
+    private FrequencyTable model;
+    private RansCoder rans;
+    private BlockArithmeticCodec blocks;
+    private byte[] arithmeticEncoded;
+    private byte[] ransEncoded;
+    private byte[] blocksEncoded;
+    private ByteArrayOutputStream sink;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        this.data = this.input.create(this.size);
+        this.symbols = new int[this.size];
+        for(int i = 0; i < this.size; i++) this.symbols[i] = this.data[i] & 0xFF;
+        int[] counts = FrequencyCounter.countBytes(this.data);
+        this.model = ArithmeticOutputStream.createModel(counts);
+        this.rans = new RansCoder(new StaticFrequencyTable(counts));
+        this.blocks = new BlockArithmeticCodec();
+
+        this.sink = new ByteArrayOutputStream(this.size + 1024);
+        encodeArithmetic(new Throughput());
+        this.arithmeticEncoded = this.sink.toByteArray();
+        this.ransEncoded = this.rans.encode(this.symbols, this.size);
+        this.blocksEncoded = this.blocks.encode(this.data);
+    }
+
+    @Benchmark
+    public int encodeArithmetic(Throughput throughput) throws IOException {
+        this.sink.reset();
+        ArithmeticOutputStream out = new ArithmeticOutputStream(this.sink, this.model);
+        out.write(this.data);
+        out.close();
+        throughput.bytes += this.size;
+        return this.sink.size();
+    }
+
+    @Benchmark
+    public int decodeArithmetic(Throughput throughput) throws IOException {
+        ArithmeticInputStream in = new ArithmeticInputStream(new ByteArrayInputStream(this.arithmeticEncoded), this.model);
+        byte[] buffer = new byte[1 << 16];
+        int total = 0;
+        int count;
+        while((count = in.read(buffer, 0, buffer.length)) > 0) total += count;
+        throughput.bytes += total;
+        return total;
+    }
+
+    @Benchmark
+    public byte[] encodeRans(Throughput throughput) {
+        throughput.bytes += this.size;
+        return this.rans.encode(this.symbols, this.size);
+    }
+
+    @Benchmark
+    public int[] decodeRans(Throughput throughput) {
+        throughput.bytes += this.size;
+        return this.rans.decode(this.ransEncoded, this.size);
+    }
+
+    @Benchmark
+    public byte[] encodeBlocks(Throughput throughput) {
+        throughput.bytes += this.size;
+        return this.blocks.encode(this.data);
+    }
+
+    @Benchmark
+    public byte[] decodeBlocks(Throughput throughput) {
+        throughput.bytes += this.size;
+        return this.blocks.decode(this.blocksEncoded);
+    }
+}
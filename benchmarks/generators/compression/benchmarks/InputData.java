@@ -0,0 +1,127 @@
+package generators.compression.benchmarks;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Reproducible inputs of the benchmarks
+ */
+public enum InputData {
+
+    /**
+     * Every byte with the same probability (incompressible)
+     */
+    UNIFORM {
+        @Override
+        void fill(byte[] data, Random random) {
+            random.nextBytes(data);
+        }
+    },
+    /**
+     * Geometric distribution, a few bytes make up most of the data
+     */
+    SKEWED {
+        @Override
+        void fill(byte[] data, Random random) {
+            double log = Math.log(1 - 0.3);
+            for(int i = 0; i < data.length; i++) {
+                data[i] = (byte) Math.min(255, (int) (Math.log(1 - random.nextDouble()) / log));
+            }
+        }
+    },
+    /**
+     * Zipf distribution (s = 1.1) over all bytes
+     */
+    ZIPF {
+        @Override
+        void fill(byte[] data, Random random) {
+            double[] cumulative = new double[256];
+            double sum = 0;
+            for(int i = 0; i < cumulative.length; i++) {
+                sum += 1 / Math.pow(i + 1, 1.1);
+                cumulative[i] = sum;
+            }
+            for(int i = 0; i < data.length; i++) {
+                int index = Arrays.binarySearch(cumulative, random.nextDouble() * sum);
+                data[i] = (byte) Math.min(255, index < 0 ? -index - 1 : index);
+            }
+        }
+    },
+    /**
+     * English-like text: common words with Zipf distributed frequencies, spaces and punctuation
+     */
+    ENGLISH {
+        @Override
+        void fill(byte[] data, Random random) {
+            double[] cumulative = new double[WORDS.length];
+            double sum = 0;
+            for(int i = 0; i < WORDS.length; i++) {
+                sum += 1.0 / (i + 1);
+                cumulative[i] = sum;
+            }
+            int pos = 0;
+            boolean capital = true;
+            while(pos < data.length) {
+                int index = Arrays.binarySearch(cumulative, random.nextDouble() * sum);
+                String word = WORDS[Math.min(WORDS.length - 1, index < 0 ? -index - 1 : index)];
+                for(int i = 0; i < word.length() && pos < data.length; i++) {
+                    char c = word.charAt(i);
+                    data[pos++] = (byte) (capital && i == 0 ? Character.toUpperCase(c) : c);
+                }
+                capital = false;
+                int r = random.nextInt(20);
+                if(r == 0 && pos < data.length) {
+                    data[pos++] = '.';
+                    capital = true;
+                } else if(r == 1 && pos < data.length) {
+                    data[pos++] = ',';
+                }
+                if(pos < data.length) data[pos++] = (byte) (capital && random.nextInt(8) == 0 ? '\n' : ' ');
+            }
+        }
+    };
+
+    /**
+     * The most common English words, the most frequent first
+     */
+    private static final String[] WORDS = ("the of and to a in is it you that he was for on are with as I his they be at one have this "
+            + "from or had by hot word but what some we can out other were all there when up use your how said an each she which "
+            + "do their time if will way about many then them write would like so these her long make thing see him two has look "
+            + "more day could go come did number sound no most people my over know water than call first who may down side been "
+            + "now find any new work part take get place made live where after back little only round man year came show every "
+            + "good me give our under name very through just form sentence great think say help low line differ turn cause much "
+            + "mean before move right boy old too same tell does set three want air well also play small end put home read hand "
+            + "port large spell add even land here must big high such follow act why ask men change went light kind off need "
+            + "house picture try us again animal point mother world near build self earth father head stand own page should "
+            + "country found answer school grow study still learn plant cover food sun four between state keep eye never last "
+            + "let thought city tree cross farm hard start might story saw far sea draw left late run while press close night "
+            + "real life few north open seem together next white children begin got walk example ease paper group always music "
+            + "those both mark often letter until mile river car feet care second book carry took science eat room friend began "
+            + "idea fish mountain stop once base hear horse cut sure watch color face wood main enough plain girl usual young "
+            + "ready above ever red list though feel talk bird soon body dog family direct pose leave song measure door product "
+            + "black short numeral class wind question happen complete ship area half rock order fire south problem piece told "
+            + "knew pass since top whole king space heard best hour better true during hundred five remember step early hold "
+            + "west ground interest reach fast verb sing listen six table travel less morning ten simple several vowel toward "
+            + "war lay against pattern slow center love person money serve appear road map rain rule govern pull cold notice "
+            + "voice unit power town fine certain fly fall lead cry dark machine note wait plan figure star box noun field rest "
+            + "correct able pound done beauty drive stood contain front teach week final gave green oh quick develop ocean warm "
+            + "free minute strong special mind behind clear tail produce fact street inch multiply nothing course stay wheel full "
+            + "force blue object decide surface deep moon island foot system busy test record boat common gold possible plane "
+            + "stead dry wonder laugh thousand ago ran check game shape equate miss brought heat snow tire bring yes distant fill "
+            + "east paint language among").split(" ");
+
+    /**
+     * Creates an input of the given size, the same size always gives the same data
+     * @param size the number of bytes
+     */
+    public byte[] create(int size) {
+        byte[] data = new byte[size];
+        fill(data, new Random(0x5EED + ordinal()));
+        return data;
+    }
+
+    /**
+     * Fills the array with data of the distribution
+     */
+    abstract void fill(byte[] data, Random random);
+}
@@ -0,0 +1,74 @@
+package generators.compression.benchmarks;
+
+import generators.compression.HelpersArithmetischeKodierung.EntropyCalculator;
+import generators.compression.HelpersArithmetischeKodierung.FrequencyCounter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Speed of the model building steps of calculateProbabilites() (counting) and calculateEntropy().
+ * The time unit is microseconds, so the {@link Throughput} counter is reported in MB/s.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class ModelBenchmark {
+
+    /**
+     * The distribution of the input
+     */
+    @Param({"UNIFORM", "SKEWED", "ZIPF", "ENGLISH"})
+    public InputData input;
+
+    /**
+     * The number of input bytes (1 KB, 1 MB, 100 MB)
+     */
+    @Param({"1024", "1048576", "104857600"})
+    public int size;
+
+    private byte[] data;
+    private String word;
+    private int[] counts;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.data = this.input.create(this.size);
+        // ISO-8859-1 keeps one char per byte
+        this.word = new String(this.data, StandardCharsets.ISO_8859_1);
+        this.counts = FrequencyCounter.countChars(this.word);
+    }
+
+    @Benchmark
+    public int[] countBytes(Throughput throughput) {
+        throughput.bytes += this.size;
+        return FrequencyCounter.countBytes(this.data);
+    }
+
+    @Benchmark
+    public int[] countChars(Throughput throughput) {
+        throughput.bytes += this.size;
+        return FrequencyCounter.countChars(this.word);
+    }
+
+    @Benchmark
+    public double entropy() {
+        return EntropyCalculator.entropyBits(this.counts);
+    }
+}
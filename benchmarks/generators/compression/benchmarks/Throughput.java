@@ -0,0 +1,26 @@
+package generators.compression.benchmarks;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Counts the processed bytes, JMH reports the counter as a rate in the time unit of the benchmark
+ * (bytes per millisecond / 1000 = MB/s, bytes per microsecond = MB/s)
+ */
+@AuxCounters(AuxCounters.Type.OPERATIONS)
+@State(Scope.Thread)
+public class Throughput {
+
+    /**
+     * The processed input bytes of the current iteration
+     */
+    public long bytes;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+        this.bytes = 0;
+    }
+}
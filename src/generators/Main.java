@@ -1,23 +1,29 @@
 package generators;
 
 import animal.main.Animal;
+import generators.compression.FileCompressor;
 import generators.graphics.OptischeTriangulation;
 
 public class Main {
 
-    public static void main(String[] args) {
+    public static void main(String[] args) throws Exception {
+        if(args.length > 0) {
+            // headless: compress|decompress <input> <output>
+            FileCompressor.main(args);
+            return;
+        }
         //ArithmetischeKodierung ak = new ArithmetischeKodierung();
         // Encode
         //String word = "AAABAAAC";
-        //BigDecimal encoded = ak.arithmethicCoder(word);
-        //System.out.println(encoded.toString());
+        //byte[] encoded = ak.arithmeticCoder(word);
+        //System.out.println(Arrays.toString(encoded));
         
         // Decode
         //ArithmetischeKodierung adk = new ArithmetischeKodierung();
-        //String decoded = adk.arithmeticDecoder(ak.getRelativeProbabilities(), BigDecimal.valueOf(word.length()), encoded);
+        //String decoded = adk.arithmeticDecoder(encoded);
         //System.out.println(decoded);
 
         // Animal.startGeneratorWindow(new ArithmetischeKodierung());
         Animal.startGeneratorWindow(new OptischeTriangulation());
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
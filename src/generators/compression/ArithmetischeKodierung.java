@@ -1,9 +1,20 @@
 package generators.compression;
 
-import generators.compression.HelpersArithmetischeKodierung.BigDecimalUtil;
+import generators.compression.HelpersArithmetischeKodierung.ArithmeticCodec;
+import generators.compression.HelpersArithmetischeKodierung.ArithmeticEncoder;
+import generators.compression.HelpersArithmetischeKodierung.CodePointAlphabet;
+import generators.compression.HelpersArithmetischeKodierung.EntropyCalculator;
+import generators.compression.HelpersArithmetischeKodierung.FenwickFrequencyTable;
+import generators.compression.HelpersArithmetischeKodierung.ModelHeader;
+import generators.compression.HelpersArithmetischeKodierung.PrecisionBudget;
+import generators.compression.HelpersArithmetischeKodierung.ShortestCodeword;
+import generators.compression.HelpersArithmetischeKodierung.StaticFrequencyTable;
 
 import java.awt.Color;
 import java.awt.Font;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.ArrayList;
@@ -44,15 +55,27 @@ public class ArithmetischeKodierung implements ValidatingGenerator {
      */
     private Language lang;
     /**
-     * The relative probability from a letter of the en-/decoded word
+     * The relative probability from a letter of the en-/decoded word (only letters of the BMP)
      */
     private HashMap<Character, BigDecimal> relativeProbabilities;
     /**
-     * The alphabet of the en-/decoded word
+     * The alphabet of the en-/decoded word, a letter is a Unicode code point (symbol = rank within the alphabet)
      */
-    private Character[] givenAlphabet;
+    private CodePointAlphabet alphabet;
     /**
-     * Length of the en-/decoded word
+     * The symbol of every letter of the en-/decoded word
+     */
+    private int[] letters;
+    /**
+     * Cumulative frequencies of the given alphabet (symbol = rank within the alphabet)
+     */
+    private FenwickFrequencyTable frequencyModel;
+    /**
+     * Number of decimal places of the interval borders
+     */
+    private int intervalScale;
+    /**
+     * Length of the en-/decoded word (number of code points)
      */
     private BigDecimal length;
     /**
@@ -107,6 +130,52 @@ public class ArithmetischeKodierung implements ValidatingGenerator {
      *
      */
     private final int intervalLength = 800;
+    /**
+     * Number of letters at the start and at the end of the word which are animated step by step
+     */
+    private int animatedLetters;
+    /**
+     * Number of steps the letters in the middle of the word are summarized in
+     */
+    private int summarySteps;
+    /**
+     * Maximum number of questions within the animation
+     */
+    private int questionBudget;
+    /**
+     * Number of questions added so far
+     */
+    private int questionCount;
+    /**
+     * First and last highlighted cell of the input array (-1 if no cell is highlighted)
+     */
+    private int highlightedFrom = -1;
+    private int highlightedTo = -1;
+    /**
+     * Position of the letter shown in the first cell of the input array
+     */
+    private int windowStart;
+    /**
+     * Shows which part of a long word is visible in the input array (null if the whole word fits)
+     */
+    private Text windowInfo;
+
+    /**
+     * Default for the number of letters animated step by step at the start and at the end of the word
+     */
+    private static final int DEFAULT_ANIMATED_LETTERS = 10;
+    /**
+     * Default for the number of steps the middle of the word is summarized in
+     */
+    private static final int DEFAULT_SUMMARY_STEPS = 5;
+    /**
+     * Default for the maximum number of questions
+     */
+    private static final int DEFAULT_QUESTION_BUDGET = 10;
+    /**
+     * Number of cells of the input array, longer words are shown in a sliding window
+     */
+    private static final int INPUT_WINDOW = 20;
 
     /**
      * Short description of the algorithm
@@ -163,6 +232,9 @@ public class ArithmetischeKodierung implements ValidatingGenerator {
         String pattern = "\\s*";
         // check if input is valid
         if(input == null || input.matches(pattern)) throw new IllegalArgumentException("Der Input darf nicht leer sein!"); // invalid input
+        if(intPrimitive(primitives, "animierteZeichen", DEFAULT_ANIMATED_LETTERS) < 0) throw new IllegalArgumentException("Die Anzahl der animierten Zeichen darf nicht negativ sein!");
+        if(intPrimitive(primitives, "zusammenfassungsSchritte", DEFAULT_SUMMARY_STEPS) <= 0) throw new IllegalArgumentException("Die Anzahl der Zusammenfassungsschritte muss größer als Null sein!");
+        if(intPrimitive(primitives, "maxFragen", DEFAULT_QUESTION_BUDGET) < 0) throw new IllegalArgumentException("Die maximale Anzahl der Fragen darf nicht negativ sein!");
         return true; // valid input
     }
 
@@ -178,7 +250,18 @@ public class ArithmetischeKodierung implements ValidatingGenerator {
         // Load user input
         String input = (String) primitives.get("input");
         this.inputWord = input;
-        this.length = new BigDecimal(input.length()); // set length of the word
+        // a letter is a code point, so a surrogate pair (e.g. an emoji) is not cut in half
+        this.alphabet = CodePointAlphabet.of(input);
+        this.letters = this.alphabet.toRanks(input);
+        this.length = new BigDecimal(this.letters.length); // set length of the word
+        this.animatedLetters = intPrimitive(primitives, "animierteZeichen", DEFAULT_ANIMATED_LETTERS);
+        this.summarySteps = intPrimitive(primitives, "zusammenfassungsSchritte", DEFAULT_SUMMARY_STEPS);
+        this.questionBudget = intPrimitive(primitives, "maxFragen", DEFAULT_QUESTION_BUDGET);
+        this.questionCount = 0;
+        this.highlightedFrom = -1;
+        this.highlightedTo = -1;
+        this.windowStart = 0;
+        this.windowInfo = null;
 
         // create title
         TextProperties headerProps = new TextProperties();
@@ -222,9 +305,14 @@ public class ArithmetischeKodierung implements ValidatingGenerator {
 
         // show input word as array
         this.lang.nextStep();
-        String[] inputArr = input.split("(?!^)");
+        // only a window of the word is shown, so the animation does not grow with the input
+        String[] inputArr = new String[Math.min(INPUT_WINDOW, this.letters.length)];
+        for(int i = 0; i < inputArr.length; i++) inputArr[i] = this.alphabet.getLetter(this.letters[i]);
 
         this.inputArr = lang.newStringArray(new Offset(0, 30, "sourceCode", AnimalScript.DIRECTION_SW), inputArr, "inputWord", null, this.inputArrayProps);
+        if(this.letters.length > inputArr.length) {
+            this.windowInfo = lang.newText(new Offset(10, 0, "inputWord", AnimalScript.DIRECTION_NE), this.windowText(), "inputWindowInfo", null, this.textProps);
+        }
 
         this.calculateProbabilites();
         this.encode();
@@ -247,51 +335,207 @@ public class ArithmetischeKodierung implements ValidatingGenerator {
         probs.get(0).add("rel. Häufigkeit");
         this.probArrayDesc = lang.newStringMatrix(new Offset(0, 30, "inputWord", AnimalScript.DIRECTION_SW), probs.stream().map(u -> u.toArray(new String[0])).toArray(String[][]::new), "probabilityDescription", null, probMatrix);
 
-        // Calculate normalized one
-        BigDecimal normalized = BigDecimal.ONE.divide(this.length, 20, RoundingMode.HALF_UP);
+        // the alphabet already counted all letters, the loop below only replays the counting for the animation
+        int[] seen = new int[this.alphabet.size()];
         int counter = 1;
-        HashMap<Character, Integer> count = new HashMap<>();
-        HashMap<Character, Integer> row = new HashMap<>();
-        char[] arr = this.inputWord.toCharArray();
+        int[] row = new int[this.alphabet.size()]; // row of every symbol within the matrix (0 = no row yet)
 
         // iterate over input string
-        for(int i = 0; i < arr.length; i++){
-            char c = arr[i];
-            if(i == 0) this.lang.nextStep("Bestimme relative Häufigkeiten");
-            else this.lang.nextStep();
-
-            if(i > 0) this.inputArr.unhighlightCell(i-1, null, null);
-            this.inputArr.highlightCell(i, null, null);
+        boolean matrixOutdated = false;
+        int summaryStart = -1;
+        for(int i = 0; i < this.letters.length; i++){
+            int c = this.letters[i];
+            seen[c]++;
+            if(row[c] == 0) { // no entry for that character in the list
+                row[c] = counter++;
+                ArrayList<String> iter = new ArrayList<>();
+                iter.add(this.alphabet.getLetter(c));
+                iter.add("");
+                iter.add("");
+                probs.add(iter);
+                matrixOutdated = true;
+            }
 
-            if(this.relativeProbabilities.containsKey(c)) { // character already exists in list
-                count.put(c, count.get(c)+1);
-                this.relativeProbabilities.put(c, this.relativeProbabilities.get(c).add(normalized));
+            if(this.isAnimated(i)) {
+                if(i == 0) this.lang.nextStep("Bestimme relative Häufigkeiten");
+                else this.lang.nextStep();
+                this.highlightInput(i, i);
 
-                probs.get(row.get(c)).set(1, count.get(c) + "");
-                probs.get(row.get(c)).set(2, this.relativeProbabilities.get(c).toString());
-                this.probArrayDesc.put(row.get(c), 1, count.get(c) + "", null, null);
-                this.probArrayDesc.put(row.get(c), 2, this.relativeProbabilities.get(c).toString(), null, null);
+                this.updateProbabilityRow(probs, row[c], seen[c], !matrixOutdated);
+            } else {
+                // the letters in the middle are counted silently and shown in one step per summary
+                if(summaryStart < 0) summaryStart = i;
+                if(!this.isSummaryEnd(i)) continue;
 
-            } else { // no entry for that character in the list
-                this.probArrayDesc.hide();
+                if(summaryStart == 0) this.lang.nextStep("Bestimme relative Häufigkeiten");
+                else this.lang.nextStep();
+                this.highlightInput(summaryStart, i);
+                summaryStart = -1;
 
-                row.put(c, counter++);
-                ArrayList<String> iter = new ArrayList<>();
-                iter.add(String.valueOf(c));
-                iter.add("1");
-                iter.add(normalized.toString());
-                probs.add(iter);
+                for(int letter = 0; letter < row.length; letter++) {
+                    if(row[letter] > 0) this.updateProbabilityRow(probs, row[letter], seen[letter], !matrixOutdated);
+                }
+            }
 
+            if(matrixOutdated) {
+                this.probArrayDesc.hide();
                 String[][] stringArray = probs.stream().map(u -> u.toArray(new String[0])).toArray(String[][]::new);
                 this.probArrayDesc = this.lang.newStringMatrix(new Offset(0, 30, "inputWord", AnimalScript.DIRECTION_SW), stringArray, "probabilityDescription", null, probMatrix);
-
-                count.put(c, 1);
-                this.relativeProbabilities.put(c, normalized);
+                matrixOutdated = false;
             }
         }
 
-        // Saves the given alphabet
-        this.givenAlphabet = this.relativeProbabilities.keySet().stream().sorted().toArray(Character[]::new);
+        // derive the probabilities once from the final counts (the alphabet is already sorted by code point)
+        this.fillRelativeProbabilities();
+        this.createFrequencyModel();
+    }
+
+    /**
+     * Updates the absolute and relative frequency of a row of the probability matrix
+     * @param probs the content of the matrix
+     * @param row the row of the letter
+     * @param count the absolute frequency of the letter
+     * @param show true if the matrix should be updated too (false if it gets rebuilt anyway)
+     */
+    private void updateProbabilityRow(ArrayList<ArrayList<String>> probs, int row, int count, boolean show) {
+        String relative = this.probabilityOf(count).toString();
+        probs.get(row).set(1, count + "");
+        probs.get(row).set(2, relative);
+        if(show) {
+            this.probArrayDesc.put(row, 1, count + "", null, null);
+            this.probArrayDesc.put(row, 2, relative, null, null);
+        }
+    }
+
+    /**
+     * Checks if the letter at the given position is animated step by step or belongs to a summary
+     * @param position the position within the input word
+     */
+    private boolean isAnimated(int position) {
+        return position < this.animatedLetters || position >= this.letters.length - this.animatedLetters;
+    }
+
+    /**
+     * Checks if the letter at the given position is the last letter of a summary step
+     * @param position the position within the input word (must not be animated)
+     */
+    private boolean isSummaryEnd(int position) {
+        int summaryLength = this.letters.length - 2 * this.animatedLetters;
+        int offset = position - this.animatedLetters;
+        if(offset == summaryLength - 1) return true;
+        // the summarized letters are distributed evenly over the summary steps
+        return (long) offset * this.summarySteps / summaryLength != (long) (offset + 1) * this.summarySteps / summaryLength;
+    }
+
+    /**
+     * Highlights a range of the input word and removes the previous highlighting
+     * @param from the position of the first letter to highlight
+     * @param to the position of the last letter to highlight
+     */
+    private void highlightInput(int from, int to) {
+        this.unhighlightInput();
+        this.scrollInput(to);
+        // the start of a long range may already be scrolled out of the window
+        int firstCell = Math.max(from, this.windowStart) - this.windowStart;
+        int lastCell = to - this.windowStart;
+        if(firstCell == lastCell) this.inputArr.highlightCell(firstCell, null, null);
+        else this.inputArr.highlightCell(firstCell, lastCell, null, null);
+        this.highlightedFrom = firstCell;
+        this.highlightedTo = lastCell;
+    }
+
+    /**
+     * Moves the window of the input array, so the letter at the given position is visible
+     * @param position the position within the input word
+     */
+    private void scrollInput(int position) {
+        int cells = this.inputArr.getLength();
+        if(position >= this.windowStart && position < this.windowStart + cells) return;
+        // the letter moves to the first third of the window, so the next letters are visible as well
+        this.windowStart = Math.max(0, Math.min(position - cells / 3, this.letters.length - cells));
+        for(int i = 0; i < cells; i++) {
+            this.inputArr.put(i, this.alphabet.getLetter(this.letters[this.windowStart + i]), null, null);
+        }
+        if(this.windowInfo != null) this.windowInfo.setText(this.windowText(), null, null);
+    }
+
+    /**
+     * Returns the description of the visible part of the input word
+     */
+    private String windowText() {
+        return "Zeichen " + (this.windowStart + 1) + " bis " + (this.windowStart + this.inputArr.getLength()) + " von " + this.letters.length;
+    }
+
+    /**
+     * Removes the highlighting of the input array
+     */
+    private void unhighlightInput() {
+        if(this.highlightedFrom < 0) return;
+        if(this.highlightedFrom == this.highlightedTo) this.inputArr.unhighlightCell(this.highlightedFrom, null, null);
+        else this.inputArr.unhighlightCell(this.highlightedFrom, this.highlightedTo, null, null);
+        this.highlightedFrom = -1;
+        this.highlightedTo = -1;
+    }
+
+    /**
+     * Returns the given text, long texts are shortened in the middle
+     * @param text the text to show
+     */
+    private String abbreviate(String text) {
+        int letters = text.codePointCount(0, text.length());
+        if(letters <= 60) return text;
+        // cut at code points, so no surrogate pair is split
+        return text.substring(0, text.offsetByCodePoints(0, 25)) + " ... " + text.substring(text.offsetByCodePoints(text.length(), -25));
+    }
+
+    /**
+     * Fills the relative probabilities of the getter, letters outside of the BMP do not fit into a Character
+     */
+    private void fillRelativeProbabilities() {
+        this.relativeProbabilities = new HashMap<>();
+        for(int i = 0; i < this.alphabet.size(); i++) {
+            int codePoint = this.alphabet.getCodePoint(i);
+            if(Character.isBmpCodePoint(codePoint)) this.relativeProbabilities.put((char) codePoint, this.probabilityOf(this.alphabet.getCount(i)));
+        }
+    }
+
+    /**
+     * Creates the cumulative model of the given alphabet from the absolute frequencies
+     */
+    private void createFrequencyModel() {
+        int[] frequencies = this.alphabet.getCounts();
+        this.frequencyModel = new FenwickFrequencyTable(frequencies);
+        this.intervalScale = PrecisionBudget.requiredScale(frequencies);
+    }
+
+    /**
+     * Returns the border of a subinterval. The border is rounded down to the precision budget of the word,
+     * so the subinterval always lies within the divided interval.
+     * @param intervalStart the start of the interval which gets divided
+     * @param intervalWidth the width of the interval which gets divided
+     * @param cumulative the cumulative frequency of the border
+     */
+    private BigDecimal intervalBorder(BigDecimal intervalStart, BigDecimal intervalWidth, int cumulative) {
+        return intervalWidth.multiply(BigDecimal.valueOf(cumulative)).divide(this.length, this.intervalScale, RoundingMode.DOWN).add(intervalStart);
+    }
+
+    /**
+     * Reads an optional int primitive
+     * @param primitives the primitives of the generator
+     * @param name the name of the primitive
+     * @param defaultValue the value if the primitive is not set
+     */
+    private static int intPrimitive(Hashtable<String, Object> primitives, String name, int defaultValue) {
+        Object value = primitives.get(name);
+        return value == null ? defaultValue : (Integer) value;
+    }
+
+    /**
+     * Returns an absolute or cumulative frequency as a probability (rounded to 20 digits)
+     * @param frequency the frequency
+     */
+    private BigDecimal probabilityOf(int frequency) {
+        return BigDecimal.valueOf(frequency).divide(this.length, 20, RoundingMode.HALF_UP);
     }
 
     /**
@@ -302,7 +546,7 @@ public class ArithmetischeKodierung implements ValidatingGenerator {
         lang.nextStep();
         sourceCode.unhighlight(0);
         sourceCode.highlight(1);
-        this.inputArr.unhighlightCell(this.inputWord.length()-1, null, null);
+        this.unhighlightInput();
 
         // show empty rectangle with initalized values
         Rect emptyRect = lang.newRect(new Offset(100, 0, "probabilityDescription", AnimalScript.DIRECTION_NE), new Offset(this.intervalLength + 100, 60, "probabilityDescription", AnimalScript.DIRECTION_NE), "emptyRect", null, intervalProps);
@@ -319,35 +563,36 @@ public class ArithmetischeKodierung implements ValidatingGenerator {
         sourceCode.highlight(2);
 
         // initialize interval display
-        HashMap<Character, Rect> rects = new HashMap<>();
-        Text[] intervalTexts = new Text[this.givenAlphabet.length + 1];
+        int alphabetSize = this.alphabet.size();
+        Rect[] rects = new Rect[alphabetSize];
+        Text[] intervalTexts = new Text[alphabetSize + 1];
 
-        // create a rect per character
-        for(int i = 0; i < this.givenAlphabet.length; i++) {
-            char ch = this.givenAlphabet[i];
+        // create a rect per character (the names use the symbol, a letter may not be a valid part of a name)
+        for(int i = 0; i < alphabetSize; i++) {
+            String ch = this.alphabet.getLetter(i);
             // calculate length of rect
-            BigDecimal bdCurrLength = BigDecimal.valueOf(intervalLength).multiply(this.relativeProbabilities.get(ch));
+            BigDecimal bdCurrLength = BigDecimal.valueOf(intervalLength).multiply(this.probabilityOf(this.alphabet.getCount(i)));
             int currLength = bdCurrLength.intValue();
             Rect rect;
 
             if(i > 0) { // all other rects offset to the previos rect
-                String previousRectName = "rect" + this.givenAlphabet[i-1];
+                String previousRectName = "rect" + (i - 1);
                 // create rect
-                rect = lang.newRect(new Offset(0, 0, previousRectName, AnimalScript.DIRECTION_NE), new Offset(currLength, 0, previousRectName, AnimalScript.DIRECTION_SE), "rect" + ch, null, intervalProps);
+                rect = lang.newRect(new Offset(0, 0, previousRectName, AnimalScript.DIRECTION_NE), new Offset(currLength, 0, previousRectName, AnimalScript.DIRECTION_SE), "rect" + i, null, intervalProps);
                 // create interval text
-                intervalTexts[i] = lang.newText(new Offset(-3, 5, "rect" + ch, AnimalScript.DIRECTION_SW), "","intervalBorder_" + i, null, textProps);
+                intervalTexts[i] = lang.newText(new Offset(-3, 5, "rect" + i, AnimalScript.DIRECTION_SW), "","intervalBorder_" + i, null, textProps);
             } else { // first rect offset to probabilityDescription
                 // create first rect
-                rect = lang.newRect(new Offset(100, 0, "probabilityDescription", AnimalScript.DIRECTION_NE), new Offset(currLength + 100, 60, "probabilityDescription", AnimalScript.DIRECTION_NE), "rect" + ch, null, intervalProps);
+                rect = lang.newRect(new Offset(100, 0, "probabilityDescription", AnimalScript.DIRECTION_NE), new Offset(currLength + 100, 60, "probabilityDescription", AnimalScript.DIRECTION_NE), "rect" + i, null, intervalProps);
                 // create first interval text
-                intervalTexts[i] = lang.newText(new Offset(-3, 5, "rect" + ch, AnimalScript.DIRECTION_SW), "0", "intervalBorder_" + i, null, textProps);
+                intervalTexts[i] = lang.newText(new Offset(-3, 5, "rect" + i, AnimalScript.DIRECTION_SW), "0", "intervalBorder_" + i, null, textProps);
             }
             // set character as text within the rect
-            lang.newText(new Offset((currLength/2)-3, 25, "rect" + ch, AnimalScript.DIRECTION_NW), ""+ch, "text"+ ch, null, textProps);
-            rects.put(ch, rect); // save in hashmap
+            lang.newText(new Offset((currLength/2)-3, 25, "rect" + i, AnimalScript.DIRECTION_NW), ""+ch, "text" + i, null, textProps);
+            rects[i] = rect; // save by symbol
         }
         // set last interval number (1)
-        intervalTexts[intervalTexts.length - 1] = lang.newText(new Offset(-3, 65, "rect" + this.givenAlphabet[this.givenAlphabet.length - 1], AnimalScript.DIRECTION_NE), "1","intervalBorder_" + this.givenAlphabet.length, null, textProps);
+        intervalTexts[intervalTexts.length - 1] = lang.newText(new Offset(-3, 65, "rect" + (alphabetSize - 1), AnimalScript.DIRECTION_NE), "1","intervalBorder_" + alphabetSize, null, textProps);
 
         // start of real algorithm
 
@@ -357,13 +602,48 @@ public class ArithmetischeKodierung implements ValidatingGenerator {
         BigDecimal nextIntervalStart = currentIntervalStart;
         BigDecimal nextIntervalEnd = currentIntervalEnd;
 
-        BigDecimal letterStart = currentIntervalStart;
-        BigDecimal letterEnd = currentIntervalEnd;
-
         // loop over every char in word to encode
         int selectedInterval = -1;
-        for(int i = 0; i < this.inputWord.length(); i++) {
-            char currentLetter = this.inputWord.toCharArray()[i];
+        int summaryStart = -1;
+        Text summaryText = null;
+        for(int i = 0; i < this.letters.length; i++) {
+            int symbol = this.letters[i];
+
+            if(!this.isAnimated(i)) {
+                // the letters in the middle narrow the interval silently
+                BigDecimal intervalWidth = currentIntervalEnd.subtract(currentIntervalStart);
+                nextIntervalStart = this.intervalBorder(currentIntervalStart, intervalWidth, this.frequencyModel.getLow(symbol));
+                nextIntervalEnd = this.intervalBorder(currentIntervalStart, intervalWidth, this.frequencyModel.getHigh(symbol));
+                currentIntervalStart = nextIntervalStart;
+                currentIntervalEnd = nextIntervalEnd;
+
+                if(summaryStart < 0) summaryStart = i;
+                if(!this.isSummaryEnd(i)) continue;
+
+                // show the result of the summarized letters in a single step
+                lang.nextStep();
+                this.highlightInput(summaryStart, i);
+                if(selectedInterval != -1) rects[selectedInterval].changeColor(AnimalScript.COLORCHANGE_FILLCOLOR, Color.WHITE, null, null);
+                selectedInterval = symbol;
+                rects[selectedInterval].changeColor(AnimalScript.COLORCHANGE_FILLCOLOR, Color.ORANGE, null, null);
+                sourceCode.unhighlight(2);
+                sourceCode.unhighlight(4);
+                sourceCode.highlight(3);
+
+                intervalTexts[0].setText(currentIntervalStart.setScale(5, RoundingMode.HALF_UP).toString(), null, null);
+                intervalTexts[intervalTexts.length - 1].setText(currentIntervalEnd.setScale(5, RoundingMode.HALF_UP).toString(), null, null);
+                for(int j = 1; j < intervalTexts.length - 1; j++) {
+                    intervalTexts[j].hide();
+                }
+                String summary = "Die Zeichen " + (summaryStart + 1) + " bis " + (i + 1) + " werden zusammengefasst. Das Hauptintervall ist danach [" + currentIntervalStart.setScale(10, RoundingMode.HALF_UP) + ", " + currentIntervalEnd.setScale(10, RoundingMode.HALF_UP) + ").";
+                if(summaryText == null) summaryText = lang.newText(new Offset(0, 30, "rect0", AnimalScript.DIRECTION_SW), summary, "summaryInfo", null, this.textProps);
+                else summaryText.setText(summary, null, null);
+                summaryText.show();
+                summaryStart = -1;
+                continue;
+            }
+            if(summaryText != null) summaryText.hide();
+
             if(i > 0) {
                 lang.nextStep();
                 sourceCode.unhighlight(3);
@@ -371,11 +651,10 @@ public class ArithmetischeKodierung implements ValidatingGenerator {
             }
 
             // highlight current letter in input array and unhiglight the last one (if there was one already)
-            if(i > 0 ) inputArr.unhighlightCell(i-1, null, null);
-            inputArr.highlightCell(i, null, null);
+            this.highlightInput(i, i);
 
             // reset old selected chararter highlighting from the rect
-            if(selectedInterval != -1) rects.get(this.givenAlphabet[selectedInterval]).changeColor(AnimalScript.COLORCHANGE_FILLCOLOR, Color.WHITE, null, null);
+            if(selectedInterval != -1) rects[selectedInterval].changeColor(AnimalScript.COLORCHANGE_FILLCOLOR, Color.WHITE, null, null);
 
 
             if(!currentIntervalStart.equals(BigDecimal.ZERO)) intervalTexts[0].setText(currentIntervalStart.setScale(5, RoundingMode.HALF_UP).toString(), null, null);
@@ -392,52 +671,50 @@ public class ArithmetischeKodierung implements ValidatingGenerator {
             sourceCode.unhighlight(4);
             sourceCode.highlight(2);
 
-            String correctAnswer = String.valueOf(currentLetter);
+            String correctAnswer = this.alphabet.getLetter(symbol);
 
             for(int j = 1; j < intervalTexts.length - 1; j++) {
                 intervalTexts[j].show();
             }
 
-            for(int j = 0; j < this.givenAlphabet.length; j++) {
-                char alphabet = this.givenAlphabet[j];
-
-                // calculate end of letter interval
-                letterEnd = currentIntervalEnd.subtract(currentIntervalStart).multiply(this.relativeProbabilities.get(alphabet)).add(letterStart);
-                //letterEnd = (intervalEnd - intervalStart) * this.relativeProbabilities.get(alphabet) + letterStart;
-
-                // check if the current letter is the needed letter and break loop to stop calculating the other intervals
-                if(currentLetter == alphabet) {
-                    nextIntervalStart = letterStart;
-                    nextIntervalEnd = letterEnd;
-                    selectedInterval = j; // set which interval got selected (important for rect highlighting)
-                }
-                // assign new values to variables to calculate the next interval
-                letterStart = letterEnd;
-                letterEnd = currentIntervalEnd;
-
-                intervalTexts[pos++].setText(letterStart.setScale(5, RoundingMode.HALF_UP).toString(), null, null);
+            // determine the subinterval of the current letter directly from the cumulative frequencies
+            BigDecimal intervalWidth = currentIntervalEnd.subtract(currentIntervalStart);
+            nextIntervalStart = this.intervalBorder(currentIntervalStart, intervalWidth, this.frequencyModel.getLow(symbol));
+            nextIntervalEnd = this.intervalBorder(currentIntervalStart, intervalWidth, this.frequencyModel.getHigh(symbol));
+            selectedInterval = symbol; // set which interval got selected (important for rect highlighting)
+
+            // the borders of all subintervals are only needed for the labels
+            int cumulative = 0;
+            for(int j = 0; j < alphabetSize; j++) {
+                cumulative += this.frequencyModel.get(j);
+                BigDecimal letterEnd = this.intervalBorder(currentIntervalStart, intervalWidth, cumulative);
+                intervalTexts[pos++].setText(letterEnd.setScale(5, RoundingMode.HALF_UP).toString(), null, null);
             }
 
-            MultipleChoiceQuestionModel mcq = new MultipleChoiceQuestionModel("multipleChoiceQuestion" + i);
-            mcq.setPrompt("Auf welches Subintervall wird das Hauptintervall gesetzt? Auf das Interval von...");
-            for (int k = 0; k < givenAlphabet.length; k++) {
-                if (currentLetter == givenAlphabet[k]) {
-                    mcq.addAnswer(String.valueOf(givenAlphabet[k]), 1, "Korrekt! " + givenAlphabet[k] + " ist das nächste Intervall.");
-                } else {
-                    mcq.addAnswer(givenAlphabet[k] + "", 0, "Falsch! Die richtige Antwort lautet " + correctAnswer);
+            // only ask as many questions as the budget allows
+            if(this.questionCount < this.questionBudget) {
+                MultipleChoiceQuestionModel mcq = new MultipleChoiceQuestionModel("multipleChoiceQuestion" + i);
+                mcq.setPrompt("Auf welches Subintervall wird das Hauptintervall gesetzt? Auf das Interval von...");
+                for (int k = 0; k < alphabetSize; k++) {
+                    String letter = this.alphabet.getLetter(k);
+                    if (symbol == k) {
+                        mcq.addAnswer(letter, 1, "Korrekt! " + letter + " ist das nächste Intervall.");
+                    } else {
+                        mcq.addAnswer(letter, 0, "Falsch! Die richtige Antwort lautet " + correctAnswer);
+                    }
                 }
+                mcq.setGroupID("Intervalbestimmung");
+                lang.addMCQuestion(mcq);
+                this.questionCount++;
             }
-            mcq.setGroupID("Intervalbestimmung");
-            lang.addMCQuestion(mcq);
 
             lang.nextStep();
 
             currentIntervalStart = nextIntervalStart;
             currentIntervalEnd = nextIntervalEnd;
-            letterStart = currentIntervalStart;
 
             // highlight selected interval/rect
-            rects.get(this.givenAlphabet[selectedInterval]).changeColor(AnimalScript.COLORCHANGE_FILLCOLOR, Color.ORANGE, null, null);
+            rects[selectedInterval].changeColor(AnimalScript.COLORCHANGE_FILLCOLOR, Color.ORANGE, null, null);
             sourceCode.unhighlight(2);
             sourceCode.highlight(3);
         }
@@ -450,10 +727,11 @@ public class ArithmetischeKodierung implements ValidatingGenerator {
         sourceCode.unhighlight(3);
         sourceCode.highlight(5);
 
-        inputArr.unhighlightCell(inputWord.length()-1, null, null); // unhighlight last char in inputArray
+        this.unhighlightInput(); // unhighlight last char in inputArray
+        if(summaryText != null) summaryText.hide();
 
         // show information about interval
-        lang.newText(new Offset(10, 60, "rect" + this.givenAlphabet[0], AnimalScript.DIRECTION_SW), "Der Algorithmus ist nun fertig mit der Berechnung. Das genaue Interval ist wie folgt (aus Gründen der Übersichtlichkeit hier auf zehn Stellen gekürzt): [" + nextIntervalStart.setScale(10, RoundingMode.HALF_UP) + ", " + nextIntervalEnd.setScale(10, RoundingMode.HALF_UP) + ").", "infoAfterInterval", null, this.textProps);
+        lang.newText(new Offset(10, 60, "rect0", AnimalScript.DIRECTION_SW), "Der Algorithmus ist nun fertig mit der Berechnung. Das genaue Interval ist wie folgt (aus Gründen der Übersichtlichkeit hier auf zehn Stellen gekürzt): [" + nextIntervalStart.setScale(10, RoundingMode.HALF_UP) + ", " + nextIntervalEnd.setScale(10, RoundingMode.HALF_UP) + ").", "infoAfterInterval", null, this.textProps);
         lang.newText(new Offset(0, 3, "infoAfterInterval", AnimalScript.DIRECTION_SW), "Nun kann ein beliebiger Wert innerhalb des Intervals gewählt werden, um ein Endergebnis zu erhalten.", "infoAfterInterval1", null, this.textProps);
         lang.newText(new Offset(0, 3, "infoAfterInterval1", AnimalScript.DIRECTION_SW), "Dabei sollte darauf geachtet werden, dass der gewählte Wert aus möglichst wenig Bits besteht.", "infoAfterInterval2", null, this.textProps);
         lang.newText(new Offset(0, 3, "infoAfterInterval2", AnimalScript.DIRECTION_SW), "Ein Richtwert dafür ist die Entropie. Sie gibt den theoretischen Bits-Verbrauch eines Wortes an.", "infoAfterInterval3", null, this.textProps);
@@ -462,93 +740,99 @@ public class ArithmetischeKodierung implements ValidatingGenerator {
         lang.newText(new Offset(-10, 3, "infoAfterInterval5", AnimalScript.DIRECTION_SW), "n_i ist die absolute Häufigkeit eines Buchstaben und I(z_i) ist die optimale Bitzahl eines Buchstaben mit der relativen Häufigkeit z_i.", "infoAfterInterval6", null, this.textProps);
         lang.newText(new Offset(0, 3, "infoAfterInterval6", AnimalScript.DIRECTION_SW),"Die optimale Bitzahl eines Buchstaben wird über die Formel -log2(z_i) bestimmt.", "infoAfterInterval7", null, this.textProps);
         // calculate entropy
-        this.entropy = this.calculateEntropy().doubleValue();
+        this.entropy = this.calculateEntropy();
         // more information
-        lang.newText(new Offset(0, 3, "infoAfterInterval7", AnimalScript.DIRECTION_SW), "Für das Input-Wort " + this.inputWord + " liegt damit der theoretische Informationsgehalt bei " + this.entropy + " Bits.", "infoAfterInterval8", null, this.textProps);
+        lang.newText(new Offset(0, 3, "infoAfterInterval7", AnimalScript.DIRECTION_SW), "Für das Input-Wort " + this.abbreviate(this.inputWord) + " liegt damit der theoretische Informationsgehalt bei " + this.entropy + " Bits.", "infoAfterInterval8", null, this.textProps);
         lang.newText(new Offset(0, 3, "infoAfterInterval8", AnimalScript.DIRECTION_SW), "Als nächstes bestimmen wir einen Wert, der möglichst wenig Bits für unser Interval benötigt und so möglichst nah an den theoretischen Bit-Wert kommt.", "infoAfterInterval9", null, this.textProps);
-        // get shortes representation from interval
-        BigDecimal result = leastDigits(nextIntervalStart, nextIntervalEnd);
-        // more text
-        lang.newText(new Offset(0, 3, "infoAfterInterval9", AnimalScript.DIRECTION_SW), "Ein möglicher Wert wäre " + result.toString() + ".", "infoAfterInterval10", null, this.textProps);
-
-        // calculate count of used bits in result with least digits
-        byte[] bytes = result.unscaledValue().toByteArray(); // convert to bytes
-        int bitCount = 0;
-        boolean found = false;
-        for(int i = bytes.length - 1; i >= 0; i--){ // go through array backwards in order to not forget 0 bytes within the number
-            byte currentByte = bytes[i];
-            if(!found && currentByte == 0x0) continue; // check if last byte is 0 and skip it
-            if(!found && currentByte > 0x0) { // check if it is bigger than 0
-                int relevantBits = 0;
-                while(currentByte > 0x0) { // left shift the byte until it is 0 and count how many bits are therefor relevant
-                    relevantBits++;
-                    currentByte <<= currentByte;
-                }
-                found = true; // found a byte that is relevant
-                bitCount += relevantBits; // add counted relevant bits
-                continue; // skip addition of 8
-            }
-            bitCount += 8; // since every byte is now relevant just add 8 bits
+        // get the shortest binary fraction within the interval
+        ShortestCodeword codeword = ShortestCodeword.find(nextIntervalStart, nextIntervalEnd);
+        BigDecimal result = codeword.toBigDecimal();
+        // the intervals are nested, so a value within the final interval lies within every interval of the word
+        if(result.compareTo(nextIntervalStart) < 0 || result.compareTo(nextIntervalEnd) >= 0) {
+            throw new IllegalStateException("Der berechnete Wert liegt nicht im Intervall, die Rechengenauigkeit reicht nicht aus!");
         }
+        // more text
+        lang.newText(new Offset(0, 3, "infoAfterInterval9", AnimalScript.DIRECTION_SW), "Ein möglicher Wert wäre " + this.abbreviate(result.toString()) + " (binär 0," + this.abbreviate(codeword.toBinaryString()) + ").", "infoAfterInterval10", null, this.textProps);
+
+        // the length of the binary fraction is the number of used bits
+        int bitCount = codeword.getLength();
         // more information
         lang.newText(new Offset(0, 3, "infoAfterInterval10", AnimalScript.DIRECTION_SW), "Demnach hat unser berechneter Wert einen Informationsgehalt von " + bitCount + " Bits.", "infoAfterInterval11", null, this.textProps);
+        lang.newText(new Offset(0, 3, "infoAfterInterval11", AnimalScript.DIRECTION_SW), "Eine Implementierung mit 32-Bit-Registern und Renormalisierung (E1/E2/E3) gibt für dieses Wort " + this.countEngineBits() + " Bits aus.", "infoAfterInterval12", null, this.textProps);
         lang.nextStep("Zusammenfassung");
     }
 
 
     /**
-     * Returns for a given interval a number with the least needed digits within the interval
-     * @param intervalStart the start of the interval (needs to be the lower than the end)
-     * @param intervalEnd the end of the interval (needs to be bigger than the start)
+     * Calculates the entropy of the input word (formula: ∑ n_i * -log2(z_i))
      */
-    private BigDecimal leastDigits(BigDecimal intervalStart, BigDecimal intervalEnd) {
-        // convert interval to String
-        char[] start = intervalStart.toString().toCharArray();
-        char[] end = intervalEnd.toString().toCharArray();
+    private double calculateEntropy() {
+        int[] counts = new int[this.alphabet.size()];
+        for(int i = 0; i < counts.length; i++) counts[i] = this.frequencyModel.get(i);
+        return EntropyCalculator.entropyBits(counts);
+    }
 
-        // determine length of shortest number
-        int minLength = Math.min(start.length, end.length);
-        // Set initial position of rounding to the minimum length in order to calculate that properly if no other rounding position was found
-        int position = minLength;
-        for(int i = 0; i < minLength; i++) {
-            // Check if the the two numbers are different at the current position
-            if(start[i] != end[i]){
-                // the value can not be equal to the upper interval since it would round inproperly
-                position = end[i] - start[i] == 1 ? i + 1 : i;
-                break; // break at the first different value
-            }
+    /**
+     * Encodes the input word with the integer coding engine and returns the number of written bits
+     */
+    private long countEngineBits() {
+        StaticFrequencyTable table = this.alphabet.getFrequencyTable();
+        // only the number of bits is needed, so the bytes are discarded
+        try {
+            ArithmeticEncoder encoder = new ArithmeticEncoder(new OutputStream() {
+                @Override
+                public void write(int b) {
+                }
+            });
+            for(int symbol : this.letters) encoder.write(table, symbol);
+            encoder.finish();
+            return encoder.getBitCount();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
-        // round the interval at the right position
-        return this.roundUp(intervalStart, position - 1);
     }
 
     /**
-     * Rounds up a given BigDecimal to a given length
-     * @param bd the BigDecimal to round up
-     * @param places how long the rounded BigDecimal should be
+     * Encodes the given word without creating an animation
+     * @param word the word to encode
+     * @return the encoded message, it contains the model of the word (see {@link ModelHeader})
      */
-    private BigDecimal roundUp(BigDecimal bd, int places) {
-        if (places < 0) throw new IllegalArgumentException();
-        // rounds the up the number
-        bd = bd.setScale(places, RoundingMode.UP);
-        return bd;
+    public byte[] arithmeticCoder(String word) {
+        // store the model, so it can be handed to the decoder
+        this.inputWord = word;
+        this.alphabet = CodePointAlphabet.of(word);
+        this.letters = this.alphabet.toRanks(word);
+        this.length = new BigDecimal(this.letters.length);
+        this.fillRelativeProbabilities();
+        return ArithmeticCodec.compress(word, ArithmeticCodec.Engine.ARITHMETIC);
     }
 
     /**
-     * Calculates the entropy of the input word (formula: ∑ n_i * -log2(z_i))
+     * Decodes a word without creating an animation
+     * @param encoded the message returned by {@link #arithmeticCoder(String)}
+     * @return the decoded word
      */
-    private BigDecimal calculateEntropy() {
-        BigDecimal sum = BigDecimal.ZERO;
-        for(Character c : this.relativeProbabilities.keySet()){
-            BigDecimal ln = BigDecimalUtil.ln(this.relativeProbabilities.get(c), 10);
-            BigDecimal base2 = ln.divide(BigDecimalUtil.ln(BigDecimal.valueOf(2), 10), RoundingMode.HALF_UP);
-            sum = sum.add(this.relativeProbabilities.get(c).multiply(this.length).multiply(base2.negate()));
-        }
-        return sum;
+    public String arithmeticDecoder(byte[] encoded) {
+        return ArithmeticCodec.decompress(encoded);
+    }
+
+    /**
+     * Decodes a word without creating an animation
+     * @param relativeProbabilities the relative probabilities of the encoded word (not needed anymore)
+     * @param length the length of the encoded word (number of chars)
+     * @param encoded the message returned by {@link #arithmeticCoder(String)}
+     * @return the decoded word
+     * @deprecated the message contains its model, use {@link #arithmeticDecoder(byte[])}
+     */
+    @Deprecated
+    public String arithmeticDecoder(HashMap<Character, BigDecimal> relativeProbabilities, BigDecimal length, byte[] encoded) {
+        String word = arithmeticDecoder(encoded);
+        if(word.length() != length.intValueExact()) throw new IllegalArgumentException("Die Länge passt nicht zur Nachricht!");
+        return word;
     }
 
     /**
-     * Getter for the relative probabilities
+     * Getter for the relative probabilities, letters outside of the BMP (e.g. emojis) are not part of the map
      */
     public HashMap<Character, BigDecimal> getRelativeProbabilities() {
         return relativeProbabilities;
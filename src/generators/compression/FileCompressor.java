@@ -0,0 +1,167 @@
+package generators.compression;
+
+import generators.compression.HelpersArithmetischeKodierung.BlockArithmeticCodec;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+
+/**
+ * Headless command line tool which compresses files with the block arithmetic coder.
+ * The input is memory-mapped and the output goes through a direct buffer (or is mapped when decompressing),
+ * so the file content is never copied into a String or char array.
+ * <p>
+ * A compressed file is a sequence of containers of {@link BlockArithmeticCodec}, one for every segment of
+ * {@link #SEGMENT_SIZE} bytes (a single mapping can not be bigger than 2 GB).
+ */
+public final class FileCompressor {
+
+    /**
+     * Number of input bytes per mapping and container
+     */
+    static final int SEGMENT_SIZE = 1 << 30;
+    /**
+     * Size of the direct output buffer
+     */
+    static final int OUTPUT_BUFFER_SIZE = 1 << 20;
+    /**
+     * Size of the trailer of a container (block count and offset of the index)
+     */
+    private static final int TRAILER_SIZE = 12;
+
+    private FileCompressor() {
+    }
+
+    /**
+     * Usage: compress|decompress &lt;input&gt; &lt;output&gt;
+     */
+    public static void main(String[] args) throws IOException {
+        if(args.length != 3 || !(args[0].equals("compress") || args[0].equals("decompress"))) {
+            System.err.println("Aufruf: (compress|decompress) <Eingabe> <Ausgabe>");
+            System.exit(2);
+            return;
+        }
+        Path source = Paths.get(args[1]);
+        Path target = Paths.get(args[2]);
+        BlockArithmeticCodec codec = new BlockArithmeticCodec();
+        long start = System.nanoTime();
+        if(args[0].equals("compress")) compress(source, target, codec);
+        else decompress(source, target, codec);
+        long millis = (System.nanoTime() - start) / 1000000;
+        System.out.println(source + " (" + source.toFile().length() + " Bytes) -> " + target + " (" + target.toFile().length() + " Bytes) in " + millis + " ms");
+    }
+
+    /**
+     * Compresses a file
+     * @param source the file to compress
+     * @param target the compressed file (overwritten if it exists)
+     * @param codec the codec the segments are encoded with
+     */
+    public static void compress(Path source, Path target, BlockArithmeticCodec codec) throws IOException {
+        try(FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+            FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            DirectChannelWriter writer = new DirectChannelWriter(out);
+            long size = in.size();
+            for(long position = 0; position < size; position += SEGMENT_SIZE) {
+                ByteBuffer segment = in.map(FileChannel.MapMode.READ_ONLY, position, Math.min(SEGMENT_SIZE, size - position));
+                codec.encode(segment, writer);
+            }
+            writer.flush();
+        }
+    }
+
+    /**
+     * Decompresses a file, the decoded bytes are written straight into a mapping of the target file
+     * @param source the compressed file
+     * @param target the decompressed file (overwritten if it exists)
+     * @param codec the codec the segments are decoded with
+     */
+    public static void decompress(Path source, Path target, BlockArithmeticCodec codec) throws IOException {
+        try(FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+            FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long outPosition = 0;
+            for(long[] container : findContainers(in)) {
+                ByteBuffer data = in.map(FileChannel.MapMode.READ_ONLY, container[0], container[1] - container[0]);
+                long length = BlockArithmeticCodec.getOriginalLength(data);
+                if(length == 0) continue;
+                ByteBuffer decoded = out.map(FileChannel.MapMode.READ_WRITE, outPosition, length);
+                codec.decode(data, decoded);
+                outPosition += length;
+            }
+        }
+    }
+
+    /**
+     * Returns start and end of every container of a compressed file. Every container ends with the offset of its index,
+     * so the containers are found from the end of the file.
+     */
+    private static ArrayList<long[]> findContainers(FileChannel in) throws IOException {
+        ArrayList<long[]> containers = new ArrayList<>();
+        ByteBuffer trailer = ByteBuffer.allocate(TRAILER_SIZE);
+        long end = in.size();
+        while(end > 0) {
+            if(end < TRAILER_SIZE) throw new IOException("Die Datei ist kein gültiges Archiv!");
+            trailer.clear();
+            while(trailer.hasRemaining()) {
+                if(in.read(trailer, end - TRAILER_SIZE + trailer.position()) < 0) throw new IOException("Unerwartetes Dateiende!");
+            }
+            int blockCount = trailer.getInt(0);
+            long indexOffset = trailer.getLong(4);
+            long start = end - (indexOffset + 8L * blockCount + TRAILER_SIZE);
+            if(blockCount < 0 || indexOffset < 0 || start < 0 || start >= end) throw new IOException("Die Datei ist kein gültiges Archiv!");
+            containers.add(0, new long[]{start, end});
+            end = start;
+        }
+        return containers;
+    }
+
+    /**
+     * Collects the written bytes in a direct buffer and drains it to the channel when it is full
+     */
+    private static final class DirectChannelWriter implements WritableByteChannel {
+        private final WritableByteChannel out;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(OUTPUT_BUFFER_SIZE);
+
+        DirectChannelWriter(WritableByteChannel out) {
+            this.out = out;
+        }
+
+        @Override
+        public int write(ByteBuffer source) throws IOException {
+            int count = source.remaining();
+            while(source.hasRemaining()) {
+                if(!this.buffer.hasRemaining()) flush();
+                int chunk = Math.min(source.remaining(), this.buffer.remaining());
+                ByteBuffer part = source.duplicate();
+                part.limit(part.position() + chunk);
+                this.buffer.put(part);
+                source.position(source.position() + chunk);
+            }
+            return count;
+        }
+
+        /**
+         * Writes the buffered bytes to the channel
+         */
+        void flush() throws IOException {
+            this.buffer.flip();
+            while(this.buffer.hasRemaining()) this.out.write(this.buffer);
+            this.buffer.clear();
+        }
+
+        @Override
+        public boolean isOpen() {
+            return this.out.isOpen();
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
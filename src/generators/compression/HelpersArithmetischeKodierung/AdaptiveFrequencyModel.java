@@ -0,0 +1,101 @@
+package generators.compression.HelpersArithmetischeKodierung;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Order-0 model which learns the frequencies while coding, so the data is coded in a single pass
+ * and no model (e.g. a {@link ModelHeader}) has to be transmitted. Every symbol starts with the frequency 1
+ * and gets an increment after it was coded. When the total reaches the rescale limit all frequencies are halved,
+ * so the model stays within the range of the coding engine and follows changes of the distribution.
+ * <p>
+ * The decoder has to start with an equal model, it performs the same updates after every decoded symbol.
+ */
+public class AdaptiveFrequencyModel implements SymbolModel {
+
+    /**
+     * Default value the frequency of a coded symbol is increased by
+     */
+    public static final int DEFAULT_INCREMENT = 32;
+    /**
+     * Default total at which the frequencies are halved
+     */
+    public static final int DEFAULT_RESCALE_LIMIT = 1 << 16;
+
+    /**
+     * The current frequencies
+     */
+    private final FenwickFrequencyTable table;
+    /**
+     * Value the frequency of a coded symbol is increased by
+     */
+    private final int increment;
+    /**
+     * The frequencies are halved when the total reaches this value
+     */
+    private final int rescaleLimit;
+
+    /**
+     * Creates a model with the default increment and rescale limit
+     * @param symbolLimit the number of symbols
+     */
+    public AdaptiveFrequencyModel(int symbolLimit) {
+        this(symbolLimit, DEFAULT_INCREMENT, DEFAULT_RESCALE_LIMIT);
+    }
+
+    /**
+     * Constructor of the model
+     * @param symbolLimit the number of symbols
+     * @param increment the value the frequency of a coded symbol is increased by (a bigger value adapts faster)
+     * @param rescaleLimit the total at which the frequencies are halved (a smaller value forgets faster)
+     */
+    public AdaptiveFrequencyModel(int symbolLimit, int increment, int rescaleLimit) {
+        if(symbolLimit <= 0) throw new IllegalArgumentException("Das Alphabet darf nicht leer sein!");
+        if(increment <= 0) throw new IllegalArgumentException("Die Erhöhung muss größer als Null sein!");
+        // after halving every symbol keeps at least 1, so the limit has to leave room for the increments
+        if(rescaleLimit > FrequencyTable.MAX_TOTAL || rescaleLimit < 2 * (symbolLimit + increment)) throw new IllegalArgumentException("Ungültige Grenze für die Halbierung: " + rescaleLimit);
+        int[] frequencies = new int[symbolLimit];
+        Arrays.fill(frequencies, 1);
+        this.table = new FenwickFrequencyTable(frequencies);
+        this.increment = increment;
+        this.rescaleLimit = rescaleLimit;
+    }
+
+    @Override
+    public int getSymbolLimit() {
+        return this.table.getSymbolLimit();
+    }
+
+    @Override
+    public void encode(ArithmeticEncoder encoder, int symbol) throws IOException {
+        if(symbol < 0 || symbol >= this.table.getSymbolLimit()) throw new IllegalArgumentException("Symbol außerhalb des Modells: " + symbol);
+        encoder.write(this.table, symbol);
+        update(symbol);
+    }
+
+    @Override
+    public int decode(ArithmeticDecoder decoder) throws IOException {
+        int symbol = decoder.read(this.table);
+        update(symbol);
+        return symbol;
+    }
+
+    /**
+     * Returns the current frequencies (changes with every coded symbol)
+     */
+    public FrequencyTable getFrequencyTable() {
+        return this.table;
+    }
+
+    /**
+     * Counts the coded symbol and halves all frequencies if the total reached the limit
+     */
+    private void update(int symbol) {
+        this.table.add(symbol, this.increment);
+        if(this.table.getTotal() < this.rescaleLimit) return;
+        for(int s = 0; s < this.table.getSymbolLimit(); s++) {
+            // rounded up, so no symbol gets the frequency 0
+            this.table.set(s, (this.table.get(s) + 1) >>> 1);
+        }
+    }
+}
@@ -0,0 +1,339 @@
+package generators.compression.HelpersArithmetischeKodierung;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Headless arithmetic coder for words. Uses the integer coding engine (or rANS) and does not depend on the animation,
+ * the model (alphabet and absolute frequencies) has to be known by the encoder and the decoder.
+ * The symbols are the Unicode code points of the word (see {@link CodePointAlphabet}), so a letter outside
+ * of the BMP (e.g. an emoji) is coded as one symbol instead of two halves of a surrogate pair.
+ */
+public class ArithmeticCodec {
+
+    /**
+     * The entropy coding engines the codec can use
+     */
+    public enum Engine {
+        /**
+         * Interval subdivision with the integer arithmetic coding engine
+         */
+        ARITHMETIC,
+        /**
+         * Interleaved rANS, faster but the model is quantized to a power of two total
+         */
+        RANS
+    }
+
+    /**
+     * The alphabet with the absolute frequencies, the rank of a code point is its symbol
+     */
+    private final CodePointAlphabet alphabet;
+    /**
+     * The integer model of the alphabet
+     */
+    private final StaticFrequencyTable table;
+    /**
+     * Lookup table of the decoder (created on the first decode)
+     */
+    private SymbolLookupTable lookup;
+    /**
+     * The engine the words are coded with
+     */
+    private final Engine engine;
+    /**
+     * The rANS coder (null if the arithmetic engine is used)
+     */
+    private final RansCoder rans;
+
+    /**
+     * Constructor of the codec using the arithmetic coding engine
+     * @param alphabet the sorted alphabet
+     * @param frequencies the absolute frequency of every letter of the alphabet
+     */
+    public ArithmeticCodec(char[] alphabet, int[] frequencies) {
+        this(alphabet, frequencies, Engine.ARITHMETIC);
+    }
+
+    /**
+     * Constructor of the codec
+     * @param alphabet the sorted alphabet
+     * @param frequencies the absolute frequency of every letter of the alphabet
+     * @param engine the engine the words are coded with
+     */
+    public ArithmeticCodec(char[] alphabet, int[] frequencies, Engine engine) {
+        this(toCodePoints(alphabet), frequencies, engine);
+    }
+
+    /**
+     * Constructor of the codec
+     * @param codePoints the sorted code points of the alphabet
+     * @param frequencies the absolute frequency of every code point of the alphabet
+     * @param engine the engine the words are coded with
+     */
+    public ArithmeticCodec(int[] codePoints, int[] frequencies, Engine engine) {
+        this(CodePointAlphabet.fromCounts(toHistogram(codePoints, frequencies)), engine);
+    }
+
+    /**
+     * Constructor of the codec
+     * @param alphabet the alphabet with the absolute frequencies
+     * @param engine the engine the words are coded with
+     */
+    public ArithmeticCodec(CodePointAlphabet alphabet, Engine engine) {
+        if(alphabet.size() == 0) throw new IllegalArgumentException("Das Alphabet darf nicht leer sein!");
+        this.alphabet = alphabet;
+        this.table = alphabet.getFrequencyTable();
+        this.engine = engine;
+        this.rans = engine == Engine.RANS ? new RansCoder(this.table) : null;
+    }
+
+    /**
+     * Returns a codec with the same model which uses the given engine
+     * @param engine the engine
+     */
+    public ArithmeticCodec withEngine(Engine engine) {
+        return engine == this.engine ? this : new ArithmeticCodec(this.alphabet, engine);
+    }
+
+    /**
+     * Creates a codec with the alphabet and the absolute frequencies of the given word
+     * @param word the word
+     */
+    public static ArithmeticCodec forWord(CharSequence word) {
+        return new ArithmeticCodec(CodePointAlphabet.of(word), Engine.ARITHMETIC);
+    }
+
+    /**
+     * Creates a codec from relative probabilities as returned by getRelativeProbabilities() of the generator
+     * @param relativeProbabilities the relative probability of every letter
+     * @param length the length of the word
+     */
+    public static ArithmeticCodec fromProbabilities(Map<Character, BigDecimal> relativeProbabilities, BigDecimal length) {
+        IntIntHashMap histogram = new IntIntHashMap(relativeProbabilities.size());
+        for(Map.Entry<Character, BigDecimal> entry : relativeProbabilities.entrySet()) {
+            // the probabilities are rounded, so the product is only close to the absolute frequency
+            int count = entry.getValue().multiply(length).setScale(0, RoundingMode.HALF_UP).intValueExact();
+            if(count > 0) histogram.put(entry.getKey(), count);
+        }
+        return new ArithmeticCodec(CodePointAlphabet.fromCounts(histogram), Engine.ARITHMETIC);
+    }
+
+    /**
+     * Encodes a word into a self-describing message: the engine (1 byte), the {@link ModelHeader} and the encoded word.
+     * The symbols of the header are the code points, its length is the number of code points of the word.
+     * The word is coded with the quantized model of the header, so no probabilities have to be passed to the decoder.
+     * @param word the word
+     * @param engine the engine the word is coded with
+     */
+    public static byte[] compress(CharSequence word, Engine engine) {
+        // a word uses few code points, so they are counted sparsely instead of in a histogram of all code points
+        CodePointAlphabet alphabet = CodePointAlphabet.of(word);
+        // the symbol limit is part of the header, so it ends after the biggest used code point
+        int[] count = new int[alphabet.size() == 0 ? 1 : alphabet.getCodePoint(alphabet.size() - 1) + 1];
+        for(int rank = 0; rank < alphabet.size(); rank++) count[alphabet.getCodePoint(rank)] = alphabet.getCount(rank);
+        ModelHeader header = ModelHeader.fromCounts(count, ModelHeader.DEFAULT_TOTAL_BITS);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            out.write(engine.ordinal());
+            header.write(out);
+            if(header.getLength() > 0) fromCounts(header.getFrequencies(), engine).encode(word, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodes a message created by {@link #compress(CharSequence, Engine)}
+     * @param message the message
+     * @return the decoded word
+     */
+    public static String decompress(byte[] message) {
+        try {
+            ByteArrayInputStream in = new ByteArrayInputStream(message);
+            int engine = in.read();
+            if(engine < 0 || engine >= Engine.values().length) throw new IllegalArgumentException("Unbekanntes Kodierverfahren: " + engine);
+            ModelHeader header = ModelHeader.read(in);
+            if(header.getLength() == 0) return "";
+            if(header.getLength() > Integer.MAX_VALUE) throw new IllegalArgumentException("Das Wort ist zu lang!");
+            return fromCounts(header.getFrequencies(), Engine.values()[engine]).decode(in, (int) header.getLength());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Creates a codec from a dense histogram of the code points
+     * @param count the absolute frequency of every code point (index = code point)
+     * @param engine the engine the words are coded with
+     */
+    private static ArithmeticCodec fromCounts(int[] count, Engine engine) {
+        IntIntHashMap histogram = new IntIntHashMap();
+        for(int codePoint = 0; codePoint < count.length; codePoint++) {
+            if(count[codePoint] > 0) histogram.put(codePoint, count[codePoint]);
+        }
+        return new ArithmeticCodec(CodePointAlphabet.fromCounts(histogram), engine);
+    }
+
+    /**
+     * Converts a sorted char alphabet to code points
+     */
+    private static int[] toCodePoints(char[] alphabet) {
+        int[] codePoints = new int[alphabet.length];
+        for(int i = 0; i < alphabet.length; i++) codePoints[i] = alphabet[i];
+        return codePoints;
+    }
+
+    /**
+     * Checks the alphabet and maps every code point to its frequency
+     */
+    private static IntIntHashMap toHistogram(int[] codePoints, int[] frequencies) {
+        if(codePoints.length != frequencies.length) throw new IllegalArgumentException("Alphabet und Häufigkeiten müssen gleich lang sein!");
+        IntIntHashMap histogram = new IntIntHashMap(codePoints.length);
+        for(int i = 0; i < codePoints.length; i++) {
+            if(i > 0 && codePoints[i - 1] >= codePoints[i]) throw new IllegalArgumentException("Das Alphabet muss sortiert sein!");
+            if(!Character.isValidCodePoint(codePoints[i])) throw new IllegalArgumentException("Ungültiger Code Point: " + codePoints[i]);
+            histogram.put(codePoints[i], frequencies[i]);
+        }
+        return histogram;
+    }
+
+    /**
+     * Encodes the given word
+     * @param word the word to encode (must only consist of letters of the alphabet)
+     * @return the encoded bytes
+     */
+    public byte[] encode(CharSequence word) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            encode(word, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Encodes the given word to a stream
+     * @param word the word to encode (must only consist of letters of the alphabet)
+     * @param out the stream the encoded bytes are written to
+     * @return the number of written bits
+     */
+    public long encode(CharSequence word, OutputStream out) throws IOException {
+        if(this.engine == Engine.RANS) {
+            int[] symbols = this.alphabet.toRanks(word);
+            byte[] encoded = this.rans.encode(symbols, symbols.length);
+            out.write(encoded);
+            return encoded.length * 8L;
+        }
+        ArithmeticEncoder encoder = new ArithmeticEncoder(out);
+        for(int i = 0; i < word.length(); ) {
+            int codePoint = Character.codePointAt(word, i);
+            encoder.write(this.table, symbolOf(codePoint));
+            i += Character.charCount(codePoint);
+        }
+        encoder.finish();
+        return encoder.getBitCount();
+    }
+
+    /**
+     * Decodes a word
+     * @param encoded the encoded bytes
+     * @param length the number of code points of the encoded word
+     * @return the decoded word
+     */
+    public String decode(byte[] encoded, int length) {
+        try {
+            return decode(new ByteArrayInputStream(encoded), length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Decodes a word from a stream
+     * @param in the stream the encoded bytes are read from (rANS reads the rest of the stream)
+     * @param length the number of code points of the encoded word
+     * @return the decoded word
+     */
+    public String decode(InputStream in, int length) throws IOException {
+        StringBuilder word = new StringBuilder(length);
+        if(this.engine == Engine.RANS) {
+            ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int count;
+            while((count = in.read(buffer)) > 0) encoded.write(buffer, 0, count);
+            int[] symbols = this.rans.decode(encoded.toByteArray(), length);
+            for(int i = 0; i < length; i++) word.appendCodePoint(this.alphabet.getCodePoint(symbols[i]));
+            return word.toString();
+        }
+        if(this.lookup == null) this.lookup = new SymbolLookupTable(this.table);
+        ArithmeticDecoder decoder = new ArithmeticDecoder(in);
+        for(int i = 0; i < length; i++) {
+            word.appendCodePoint(this.alphabet.getCodePoint(decoder.read(this.lookup)));
+        }
+        return word.toString();
+    }
+
+    /**
+     * Returns the symbol of a code point
+     * @param codePoint the code point
+     */
+    private int symbolOf(int codePoint) {
+        int symbol = this.alphabet.rankOf(codePoint);
+        if(symbol < 0) throw new IllegalArgumentException("Das Zeichen U+" + Integer.toHexString(codePoint).toUpperCase() + " ist nicht Teil des Alphabets!");
+        return symbol;
+    }
+
+    /**
+     * Returns the relative probability of every letter (rounded to 20 digits),
+     * letters outside of the BMP (e.g. emojis) are not part of the map
+     */
+    public HashMap<Character, BigDecimal> getRelativeProbabilities() {
+        BigDecimal length = BigDecimal.valueOf(this.table.getTotal());
+        HashMap<Character, BigDecimal> relativeProbabilities = new HashMap<>();
+        for(int rank = 0; rank < this.alphabet.size(); rank++) {
+            int codePoint = this.alphabet.getCodePoint(rank);
+            if(!Character.isBmpCodePoint(codePoint)) continue;
+            relativeProbabilities.put((char) codePoint, BigDecimal.valueOf(this.alphabet.getCount(rank)).divide(length, 20, RoundingMode.HALF_UP));
+        }
+        return relativeProbabilities;
+    }
+
+    /**
+     * Getter for the alphabet
+     */
+    public CodePointAlphabet getAlphabet() {
+        return this.alphabet;
+    }
+
+    /**
+     * Getter for the absolute frequencies
+     */
+    public int[] getFrequencies() {
+        return this.alphabet.getCounts();
+    }
+
+    /**
+     * Getter for the engine
+     */
+    public Engine getEngine() {
+        return this.engine;
+    }
+
+    /**
+     * Getter for the integer model
+     */
+    public StaticFrequencyTable getFrequencyTable() {
+        return this.table;
+    }
+}
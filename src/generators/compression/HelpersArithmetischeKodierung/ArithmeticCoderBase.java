@@ -0,0 +1,87 @@
+package generators.compression.HelpersArithmetischeKodierung;
+
+import java.io.IOException;
+
+/**
+ * Shared interval logic of the integer arithmetic coding engine.
+ * The interval [low, high] is kept in fixed-width registers and renormalized after every symbol:
+ * E1 (interval in the lower half), E2 (interval in the upper half) and E3 (interval around the middle, underflow).
+ */
+abstract class ArithmeticCoderBase {
+
+    /**
+     * Width of the low/high registers in bits
+     */
+    static final int STATE_BITS = 32;
+    /**
+     * All register bits set
+     */
+    static final long MASK = (1L << STATE_BITS) - 1;
+    /**
+     * 0.5 of the register range
+     */
+    static final long HALF = 1L << (STATE_BITS - 1);
+    /**
+     * 0.25 of the register range
+     */
+    static final long QUARTER = HALF >>> 1;
+    /**
+     * 0.75 of the register range
+     */
+    static final long THREE_QUARTERS = HALF + QUARTER;
+
+    /**
+     * Lower bound of the current interval (inclusive)
+     */
+    protected long low = 0;
+    /**
+     * Upper bound of the current interval (inclusive)
+     */
+    protected long high = MASK;
+
+    /**
+     * Narrows the current interval to the subinterval [cumLow, cumHigh) of [0, total) and renormalizes the registers
+     * @param cumLow the start of the subinterval
+     * @param cumHigh the end of the subinterval
+     * @param total the size of the whole interval
+     */
+    protected void update(int cumLow, int cumHigh, int total) throws IOException {
+        if(total <= 0 || total > FrequencyTable.MAX_TOTAL) throw new IllegalArgumentException("Ungültige Gesamthäufigkeit: " + total);
+        if(cumLow < 0 || cumLow >= cumHigh || cumHigh > total) throw new IllegalArgumentException("Ungültiges Symbolintervall [" + cumLow + ", " + cumHigh + ")");
+
+        // same subdivision as (intervalEnd - intervalStart) * probability + letterStart, just with integers
+        long range = this.high - this.low + 1;
+        this.high = this.low + cumHigh * range / total - 1;
+        this.low = this.low + cumLow * range / total;
+
+        // renormalize until the interval is wider than a quarter of the register range
+        while(true) {
+            if(this.high < HALF) { // E1
+                shift(0);
+            } else if(this.low >= HALF) { // E2
+                shift(1);
+                this.low -= HALF;
+                this.high -= HALF;
+            } else if(this.low >= QUARTER && this.high < THREE_QUARTERS) { // E3
+                underflow();
+                this.low -= QUARTER;
+                this.high -= QUARTER;
+            } else {
+                break;
+            }
+            this.low <<= 1;
+            this.high = (this.high << 1) | 1;
+        }
+    }
+
+    /**
+     * Called on an E1 (bit 0) or E2 (bit 1) scaling
+     * @param bit the bit which is known after the scaling
+     */
+    protected abstract void shift(int bit) throws IOException;
+
+    /**
+     * Called on an E3 scaling
+     */
+    protected abstract void underflow() throws IOException;
+}
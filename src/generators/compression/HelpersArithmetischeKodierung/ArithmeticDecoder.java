@@ -0,0 +1,85 @@
+package generators.compression.HelpersArithmetischeKodierung;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+
+/**
+ * Decoder of the integer arithmetic coding engine. Mirrors every narrowing and scaling of the {@link ArithmeticEncoder}.
+ */
+public class ArithmeticDecoder extends ArithmeticCoderBase {
+
+    /**
+     * Size of the buffer between an input stream and the bit reader
+     */
+    private static final int STREAM_BUFFER_SIZE = 1 << 12;
+
+    /**
+     * The source of the encoded bits
+     */
+    private final BitReader in;
+    /**
+     * The encoded value, always within [low, high]
+     */
+    private long code;
+
+    /**
+     * Constructor of the decoder, reads the first bits of the input
+     * @param in the stream the encoded bytes are read from
+     */
+    public ArithmeticDecoder(InputStream in) throws IOException {
+        this(new BitReader(Channels.newChannel(in), STREAM_BUFFER_SIZE));
+    }
+
+    /**
+     * Constructor of the decoder, reads the first bits of the input
+     * @param in the reader the encoded bits are read from
+     */
+    public ArithmeticDecoder(BitReader in) throws IOException {
+        this.in = in;
+        this.code = in.readBits(STATE_BITS);
+    }
+
+    /**
+     * Decodes the next symbol with the given model
+     * @param table the model (must be the same the encoder used)
+     */
+    public int read(FrequencyTable table) throws IOException {
+        int total = table.getTotal();
+        int symbol = table.getSymbol(target(total));
+        update(table.getLow(symbol), table.getHigh(symbol), total);
+        return symbol;
+    }
+
+    /**
+     * Returns the cumulative frequency within [0, total) the encoded value points to
+     * @param total the size of the whole interval
+     */
+    public int target(int total) {
+        long range = this.high - this.low + 1;
+        long offset = this.code - this.low;
+        return (int) (((offset + 1) * total - 1) / range);
+    }
+
+    /**
+     * Removes the subinterval [cumLow, cumHigh) of [0, total) which was found via {@link #target(int)}
+     * @param cumLow the start of the subinterval
+     * @param cumHigh the end of the subinterval
+     * @param total the size of the whole interval
+     */
+    public void consume(int cumLow, int cumHigh, int total) throws IOException {
+        update(cumLow, cumHigh, total);
+    }
+
+    @Override
+    protected void shift(int bit) throws IOException {
+        if(bit == 1) this.code -= HALF;
+        this.code = (this.code << 1) | this.in.readBit();
+    }
+
+    @Override
+    protected void underflow() throws IOException {
+        this.code -= QUARTER;
+        this.code = (this.code << 1) | this.in.readBit();
+    }
+}
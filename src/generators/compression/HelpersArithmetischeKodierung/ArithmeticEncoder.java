@@ -0,0 +1,108 @@
+package generators.compression.HelpersArithmetischeKodierung;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+
+/**
+ * Encoder of the integer arithmetic coding engine. The bits are written to the output as soon as they are known,
+ * so the encoder works in linear time with constant memory.
+ */
+public class ArithmeticEncoder extends ArithmeticCoderBase {
+
+    /**
+     * Size of the buffer between the bit writer and an output stream
+     */
+    private static final int STREAM_BUFFER_SIZE = 1 << 12;
+
+    /**
+     * The sink of the encoded bits
+     */
+    private final BitWriter out;
+    /**
+     * Bit count of the writer when the encoder was created
+     */
+    private final long firstBit;
+    /**
+     * Number of E3 scalings whose bits are not known yet
+     */
+    private long pendingBits;
+
+    /**
+     * Constructor of the encoder
+     * @param out the stream the encoded bytes are written to
+     */
+    public ArithmeticEncoder(OutputStream out) {
+        this(new BitWriter(ByteBuffer.allocate(STREAM_BUFFER_SIZE), Channels.newChannel(out)));
+    }
+
+    /**
+     * Constructor of the encoder
+     * @param out the writer the encoded bits are appended to
+     */
+    public ArithmeticEncoder(BitWriter out) {
+        this.out = out;
+        this.firstBit = out.getBitCount();
+    }
+
+    /**
+     * Encodes a symbol with the given model
+     * @param table the model
+     * @param symbol the symbol to encode
+     */
+    public void write(FrequencyTable table, int symbol) throws IOException {
+        update(table.getLow(symbol), table.getHigh(symbol), table.getTotal());
+    }
+
+    /**
+     * Encodes the subinterval [cumLow, cumHigh) of [0, total)
+     * @param cumLow the start of the subinterval
+     * @param cumHigh the end of the subinterval
+     * @param total the size of the whole interval
+     */
+    public void write(int cumLow, int cumHigh, int total) throws IOException {
+        update(cumLow, cumHigh, total);
+    }
+
+    /**
+     * Writes the bits needed to identify the final interval and flushes the writer (the last byte is padded with zeros).
+     * The encoder must not be used afterwards.
+     */
+    public void finish() throws IOException {
+        // two more bits select a quarter which lies completely within the interval
+        this.pendingBits++;
+        shift(this.low < QUARTER ? 0 : 1);
+        this.out.flush();
+    }
+
+    /**
+     * Writes the complete words of the encoded bits to the output. The bits of an incomplete word and the bits
+     * which depend on the next symbols stay in the encoder, so the encoder can be used afterwards.
+     */
+    public void flush() throws IOException {
+        this.out.drainWords();
+    }
+
+    /**
+     * Returns the number of bits written so far
+     */
+    public long getBitCount() {
+        return this.out.getBitCount() - this.firstBit;
+    }
+
+    @Override
+    protected void shift(int bit) throws IOException {
+        this.out.writeBit(bit);
+        // the bits of the E3 scalings are the inverse of the now known bit
+        if(this.pendingBits > 0) {
+            this.out.writeRun(bit ^ 1, this.pendingBits);
+            this.pendingBits = 0;
+        }
+    }
+
+    @Override
+    protected void underflow() {
+        this.pendingBits++;
+    }
+}
@@ -0,0 +1,88 @@
+package generators.compression.HelpersArithmetischeKodierung;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Input stream which decodes the bytes written by an {@link ArithmeticOutputStream}.
+ * The decoder reads a few bytes ahead, so the encoded data should be the rest of the underlying stream.
+ */
+public class ArithmeticInputStream extends InputStream {
+
+    /**
+     * The underlying stream (the decoder buffers the encoded bytes itself)
+     */
+    private final InputStream in;
+    /**
+     * The decoder reading from the underlying stream
+     */
+    private final ArithmeticDecoder decoder;
+    /**
+     * The model of the bytes (must be the same the encoder used)
+     */
+    private final SymbolModel model;
+    /**
+     * True if the end marker was decoded
+     */
+    private boolean endReached;
+
+    /**
+     * Creates a stream which decodes the output of {@link ArithmeticOutputStream#ArithmeticOutputStream(java.io.OutputStream)}
+     * with an {@link AdaptiveFrequencyModel}
+     * @param in the underlying stream
+     */
+    public ArithmeticInputStream(InputStream in) throws IOException {
+        this(in, new AdaptiveFrequencyModel(ArithmeticOutputStream.SYMBOL_LIMIT));
+    }
+
+    /**
+     * Creates a stream which decodes with the given model
+     * @param in the underlying stream
+     * @param model the model the encoder used
+     */
+    public ArithmeticInputStream(InputStream in, FrequencyTable model) throws IOException {
+        this(in, SymbolModel.of(model));
+    }
+
+    /**
+     * Creates a stream which decodes with the given (e.g. adaptive) model
+     * @param in the underlying stream
+     * @param model a new model equal to the one the encoder started with
+     */
+    public ArithmeticInputStream(InputStream in, SymbolModel model) throws IOException {
+        if(model.getSymbolLimit() != ArithmeticOutputStream.SYMBOL_LIMIT) throw new IllegalArgumentException("Das Modell muss alle Bytes und das Endezeichen enthalten!");
+        this.in = in;
+        this.decoder = new ArithmeticDecoder(this.in);
+        this.model = model;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if(this.endReached) return -1;
+        int symbol = this.model.decode(this.decoder);
+        if(symbol == ArithmeticOutputStream.EOF_SYMBOL) {
+            this.endReached = true;
+            return -1;
+        }
+        return symbol;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        // checked in advance, a decoded byte could not be put back
+        if((off | len | (off + len) | (b.length - (off + len))) < 0) throw new IndexOutOfBoundsException("Bereich " + off + " + " + len + " von " + b.length);
+        if(len == 0) return 0;
+        int count = 0;
+        while(count < len) {
+            int value = read();
+            if(value == -1) break;
+            b[off + count++] = (byte) value;
+        }
+        return count == 0 ? -1 : count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.in.close();
+    }
+}
@@ -0,0 +1,120 @@
+package generators.compression.HelpersArithmetischeKodierung;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Output stream which arithmetically encodes every written byte with the integer coding engine.
+ * The end of the data is marked with an extra symbol, so the decoder does not need to know the length.
+ */
+public class ArithmeticOutputStream extends OutputStream {
+
+    /**
+     * The symbol which marks the end of the data
+     */
+    public static final int EOF_SYMBOL = 256;
+    /**
+     * Number of symbols of a byte model (all bytes and the end marker)
+     */
+    public static final int SYMBOL_LIMIT = EOF_SYMBOL + 1;
+    /**
+     * The underlying stream (the encoder buffers the encoded bits itself)
+     */
+    private final OutputStream out;
+    /**
+     * The encoder writing to the underlying stream
+     */
+    private final ArithmeticEncoder encoder;
+    /**
+     * The model of the bytes
+     */
+    private final SymbolModel model;
+    /**
+     * True if the end marker was already written
+     */
+    private boolean finished;
+
+    /**
+     * Creates a stream which encodes with an {@link AdaptiveFrequencyModel}, so the data is compressed in a single pass
+     * without transmitting a model
+     * @param out the underlying stream
+     */
+    public ArithmeticOutputStream(OutputStream out) {
+        this(out, new AdaptiveFrequencyModel(SYMBOL_LIMIT));
+    }
+
+    /**
+     * Creates a stream which encodes with the given model
+     * @param out the underlying stream
+     * @param model a model of {@link #SYMBOL_LIMIT} symbols (see {@link #createModel(int[])})
+     */
+    public ArithmeticOutputStream(OutputStream out, FrequencyTable model) {
+        this(out, SymbolModel.of(model));
+        if(model.get(EOF_SYMBOL) == 0) throw new IllegalArgumentException("Das Modell muss alle Bytes und das Endezeichen enthalten!");
+    }
+
+    /**
+     * Creates a stream which encodes with the given (e.g. adaptive) model
+     * @param out the underlying stream
+     * @param model a model of {@link #SYMBOL_LIMIT} symbols which can code every symbol
+     */
+    public ArithmeticOutputStream(OutputStream out, SymbolModel model) {
+        if(model.getSymbolLimit() != SYMBOL_LIMIT) throw new IllegalArgumentException("Das Modell muss alle Bytes und das Endezeichen enthalten!");
+        this.out = out;
+        this.encoder = new ArithmeticEncoder(this.out);
+        this.model = model;
+    }
+
+    /**
+     * Creates a byte model from the given byte frequencies, the end marker gets the frequency 1
+     * @param byteFrequencies the frequency of every byte (index = unsigned byte) or null for a uniform model
+     *                        (a uniform model does not compress, the output is slightly bigger than the input)
+     */
+    public static FrequencyTable createModel(int[] byteFrequencies) {
+        int[] frequencies = new int[SYMBOL_LIMIT];
+        if(byteFrequencies == null) Arrays.fill(frequencies, 1);
+        else System.arraycopy(byteFrequencies, 0, frequencies, 0, EOF_SYMBOL);
+        frequencies[EOF_SYMBOL] = 1;
+        return new StaticFrequencyTable(frequencies);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if(this.finished) throw new IOException("Der Stream wurde bereits abgeschlossen!");
+        this.model.encode(this.encoder, b & 0xFF);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if(this.finished) throw new IOException("Der Stream wurde bereits abgeschlossen!");
+        // checked in advance, a part of the range would already be in the encoder
+        if((off | len | (off + len) | (b.length - (off + len))) < 0) throw new IndexOutOfBoundsException("Bereich " + off + " + " + len + " von " + b.length);
+        for(int i = off; i < off + len; i++) {
+            this.model.encode(this.encoder, b[i] & 0xFF);
+        }
+    }
+
+    /**
+     * Writes the end marker and the last bits without closing the underlying stream
+     */
+    public void finish() throws IOException {
+        if(this.finished) return;
+        this.model.encode(this.encoder, EOF_SYMBOL);
+        this.encoder.finish();
+        this.finished = true;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        // only complete words are written, the last bits and the bits of the current interval stay in the encoder
+        this.encoder.flush();
+        this.out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        finish();
+        this.out.close();
+    }
+}
@@ -0,0 +1,214 @@
+package generators.compression.HelpersArithmetischeKodierung;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded memoization of {@link BigDecimalUtil} results, keyed by function, value and precision.
+ * When the cache is full the least recently used result is evicted. Lookups are synchronized,
+ * but a missing value is computed outside of the lock, so a long computation does not block other threads.
+ */
+public final class BigDecimalCache {
+
+    /**
+     * Default number of results a cache holds
+     */
+    public static final int DEFAULT_CAPACITY = 1 << 12;
+
+    /**
+     * The cache used by the helpers of the generator
+     */
+    private static final BigDecimalCache SHARED = new BigDecimalCache(DEFAULT_CAPACITY);
+
+    /**
+     * The functions whose results are cached
+     */
+    public enum Function {
+        LN {
+            @Override
+            BigDecimal compute(BigDecimal x, PrecisionContext mc) {
+                return BigDecimalUtil.ln(x, mc);
+            }
+        },
+        EXP {
+            @Override
+            BigDecimal compute(BigDecimal x, PrecisionContext mc) {
+                return BigDecimalUtil.exp(x, mc);
+            }
+        },
+        SQRT {
+            @Override
+            BigDecimal compute(BigDecimal x, PrecisionContext mc) {
+                return BigDecimalUtil.sqrt(x, mc);
+            }
+        };
+
+        abstract BigDecimal compute(BigDecimal x, PrecisionContext mc);
+    }
+
+    /**
+     * Maximum number of results
+     */
+    private final int capacity;
+    /**
+     * The results in access order, the eldest entry is the least recently used one
+     */
+    private final LinkedHashMap<Key, BigDecimal> results;
+    /**
+     * Number of lookups which found a result
+     */
+    private final AtomicLong hits = new AtomicLong();
+    /**
+     * Number of lookups which had to compute the result
+     */
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Constructor of the cache
+     * @param capacity the maximum number of results
+     */
+    public BigDecimalCache(int capacity) {
+        if(capacity <= 0) throw new IllegalArgumentException("Die Kapazität muss größer als Null sein!");
+        this.capacity = capacity;
+        this.results = new LinkedHashMap<Key, BigDecimal>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, BigDecimal> eldest) {
+                return size() > BigDecimalCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns the cache shared by the helpers of the generator
+     */
+    public static BigDecimalCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * Returns the natural logarithm of x (see {@link BigDecimalUtil#ln(BigDecimal, PrecisionContext)})
+     * @param x the value, x &gt; 0
+     * @param mc the precision of the result
+     */
+    public BigDecimal ln(BigDecimal x, PrecisionContext mc) {
+        return get(Function.LN, x, mc);
+    }
+
+    /**
+     * Returns e^x (see {@link BigDecimalUtil#exp(BigDecimal, PrecisionContext)})
+     * @param x the value
+     * @param mc the precision of the result
+     */
+    public BigDecimal exp(BigDecimal x, PrecisionContext mc) {
+        return get(Function.EXP, x, mc);
+    }
+
+    /**
+     * Returns the square root of x (see {@link BigDecimalUtil#sqrt(BigDecimal, PrecisionContext)})
+     * @param x the value, x &gt;= 0
+     * @param mc the precision of the result
+     */
+    public BigDecimal sqrt(BigDecimal x, PrecisionContext mc) {
+        return get(Function.SQRT, x, mc);
+    }
+
+    /**
+     * Returns the cached result or computes and stores it
+     * @param function the function
+     * @param x the argument
+     * @param mc the precision of the result
+     */
+    public BigDecimal get(Function function, BigDecimal x, PrecisionContext mc) {
+        Key key = new Key(function, x, mc);
+        BigDecimal result;
+        synchronized(this.results) {
+            result = this.results.get(key);
+        }
+        if(result != null) {
+            this.hits.incrementAndGet();
+            return result;
+        }
+        this.misses.incrementAndGet();
+        // two threads may compute the same value, both get the same result
+        result = function.compute(x, mc);
+        synchronized(this.results) {
+            this.results.put(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * Computes the common constants ln(2), ln(10), e and sqrt(2) for the given precision in advance
+     * @param mc the precision
+     */
+    public void warmUp(PrecisionContext mc) {
+        ln(BigDecimal.valueOf(2), mc);
+        ln(BigDecimal.TEN, mc);
+        exp(BigDecimal.ONE, mc);
+        sqrt(BigDecimal.valueOf(2), mc);
+    }
+
+    /**
+     * Returns the number of lookups which found a result
+     */
+    public long getHitCount() {
+        return this.hits.get();
+    }
+
+    /**
+     * Returns the number of lookups which had to compute the result
+     */
+    public long getMissCount() {
+        return this.misses.get();
+    }
+
+    /**
+     * Returns the number of cached results
+     */
+    public int size() {
+        synchronized(this.results) {
+            return this.results.size();
+        }
+    }
+
+    /**
+     * Removes all results and resets the counters
+     */
+    public void clear() {
+        synchronized(this.results) {
+            this.results.clear();
+        }
+        this.hits.set(0);
+        this.misses.set(0);
+    }
+
+    /**
+     * Key of a result. Numerically equal values (e.g. 2 and 2.0) share a key.
+     */
+    private static final class Key {
+        private final Function function;
+        private final BigDecimal value;
+        private final PrecisionContext precision;
+
+        Key(Function function, BigDecimal value, PrecisionContext precision) {
+            this.function = function;
+            this.value = value.signum() == 0 ? BigDecimal.ZERO : value.stripTrailingZeros();
+            this.precision = precision;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if(this == o) return true;
+            if(!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return this.function == other.function && this.value.equals(other.value) && this.precision.equals(other.precision);
+        }
+
+        @Override
+        public int hashCode() {
+            return (this.function.hashCode() * 31 + this.value.hashCode()) * 31 + this.precision.hashCode();
+        }
+    }
+}
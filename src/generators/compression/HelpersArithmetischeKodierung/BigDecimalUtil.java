@@ -21,6 +21,8 @@ import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.math.MathContext;
 import java.math.RoundingMode;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * BigDecimal utilities.
@@ -29,51 +31,50 @@ import java.math.RoundingMode;
  * @version $Revision$ $Date$
  */
 public final class BigDecimalUtil {
-    private static final int SCALE = 18;
-    public static long ITER = 1000;
-    public static MathContext context = new MathContext( 100 );
+    private static final int SCALE = PrecisionContext.DEFAULT.getScale();
+    public static final long ITER = PrecisionContext.DEFAULT.getMaxIterations();
+    public static final MathContext context = new MathContext( 100 );
     private static final int ROUNDING_MODE = BigDecimal.ROUND_HALF_EVEN;
-    public static BigDecimal PI_DIV_180
+    public static final BigDecimal PI_DIV_180
         = new BigDecimal("3.1415926535897932384626433832795").divide(BigDecimal.valueOf(180), 32, BigDecimal.ROUND_HALF_UP);
-    public static BigDecimal PI_DIV_200
+    public static final BigDecimal PI_DIV_200
         = new BigDecimal("3.1415926535897932384626433832795").divide(BigDecimal.valueOf(200), 32, BigDecimal.ROUND_HALF_UP);
-    public static BigDecimal EPS = BigDecimal.ONE.scaleByPowerOfTen(-100);
+    public static final BigDecimal EPS = BigDecimal.ONE.scaleByPowerOfTen(-100);
+    // Correct digits of a first approximation computed with doubles.
+    private static final int DOUBLE_DIGITS = 12;
+    // Extra digits of the working precision, so the rounded result is correct.
+    private static final int GUARD_DIGITS = 3;
+    private static final double LOG10_2 = Math.log10(2);
+    private static final double LN10 = Math.log(10);
+    private static final BigDecimal TWO = BigDecimal.valueOf(2);
+    // The most precise ln(2) computed so far.
+    private static final AtomicReference<BigDecimal> LN2 = new AtomicReference<>(BigDecimal.ZERO);
 
     private BigDecimalUtil() {
     }
 
     /**
-     * Compute the square root of x to a given scale, x &gt;= 0.
-     * Use Newton's algorithm.
+     * Compute the square root of x to the default scale, x &gt;= 0.
      * @param x the value of x
      * @return the result value
      */
     public static BigDecimal sqrt(BigDecimal x) {
+        return sqrt(x, PrecisionContext.DEFAULT);
+    }
+
+    /**
+     * Compute the square root of x to the scale of the context, x &gt;= 0.
+     * Use Newton's algorithm.
+     * @param x the value of x
+     * @param mc the precision of the result
+     * @return the result value
+     */
+    public static BigDecimal sqrt(BigDecimal x, PrecisionContext mc) {
         // Check that x >= 0.
         if (x.signum() < 0) {
             throw new ArithmeticException("x < 0");
         }
-
-        // n = x*(10^(2*SCALE))
-        BigInteger n = x.movePointRight(SCALE << 1).toBigInteger();
-
-        // The first approximation is the upper half of n.
-        int bits = (n.bitLength() + 1) >> 1;
-        BigInteger ix = n.shiftRight(bits);
-        BigInteger ixPrev;
-
-        // Loop until the approximations converge
-        // (two successive approximations are equal after rounding).
-        do {
-            ixPrev = ix;
-
-            // x = (x + n/x)/2
-            ix = ix.add(n.divide(ix)).shiftRight(1);
-
-            Thread.yield();
-        } while (ix.compareTo(ixPrev) != 0);
-
-        return new BigDecimal(ix, SCALE);
+        return root(x, 2, mc);
     }
 
     /**
@@ -86,53 +87,71 @@ public final class BigDecimalUtil {
      */
     public static BigDecimal intRoot(BigDecimal x, long index,
                                      int scale)
+    {
+        return intRoot(x, index, PrecisionContext.DEFAULT.withScale(scale));
+    }
+
+    /**
+     * Compute the integral root of x to the scale of the context, x &gt;= 0.
+     * Use Newton's algorithm.
+     * @param x the value of x
+     * @param index the integral root value
+     * @param mc the precision of the result
+     * @return the result value
+     */
+    public static BigDecimal intRoot(BigDecimal x, long index,
+                                     PrecisionContext mc)
     {
         // Check that x >= 0.
         if (x.signum() < 0) {
             throw new IllegalArgumentException("x < 0");
         }
+        if (index < 1) {
+            throw new IllegalArgumentException("index < 1");
+        }
+        return root(x, index, mc);
+    }
 
-        int        sp1 = scale + 1;
-        BigDecimal n   = x;
-        BigDecimal i   = BigDecimal.valueOf(index);
-        BigDecimal im1 = BigDecimal.valueOf(index-1);
-        BigDecimal tolerance = BigDecimal.valueOf(5)
-                                            .movePointLeft(sp1);
-        BigDecimal xPrev;
-
-        // The initial approximation is x/index.
-        x = x.divide(i, scale, BigDecimal.ROUND_HALF_EVEN);
-
-        // Loop until the approximations converge
-        // (two successive approximations are equal after rounding).
-        do {
-            // x^(index-1)
-            BigDecimal xToIm1 = intPower(x, index-1, sp1);
-
-            // x^index
-            BigDecimal xToI =
-                    x.multiply(xToIm1)
-                        .setScale(sp1, BigDecimal.ROUND_HALF_EVEN);
-
-            // n + (index-1)*(x^index)
-            BigDecimal numerator =
-                    n.add(im1.multiply(xToI))
-                        .setScale(sp1, BigDecimal.ROUND_HALF_EVEN);
-
-            // (index*(x^(index-1))
-            BigDecimal denominator =
-                    i.multiply(xToIm1)
-                        .setScale(sp1, BigDecimal.ROUND_HALF_EVEN);
+    /**
+     * Compute the integral root of x &gt;= 0 with Newton's algorithm.
+     * The first approximation comes from double arithmetic, every step
+     * doubles the number of correct digits, so every step runs with twice
+     * the precision of the previous one until the target is reached.
+     */
+    private static BigDecimal root(BigDecimal x, long index,
+                                   PrecisionContext mc)
+    {
+        int scale = mc.getScale();
+        if (x.signum() == 0) {
+            return BigDecimal.ZERO.setScale(scale);
+        }
 
-            // x = (n + (index-1)*(x^index)) / (index*(x^(index-1)))
-            xPrev = x;
-            x = numerator
-                    .divide(denominator, sp1, BigDecimal.ROUND_DOWN);
+        // The first approximation 10^(log10(x)/index).
+        double     log10Root = approximateLog10(x) / index;
+        BigDecimal y = powerOfTen(log10Root);
+        if (index == 1) {
+            return x.setScale(scale, BigDecimal.ROUND_HALF_EVEN);
+        }
 
-            Thread.yield();
-        } while (x.subtract(xPrev).abs().compareTo(tolerance) > 0);
+        // Digits to the left of the decimal point plus the scale.
+        int        digits = (int) Math.floor(log10Root) + 1 + scale;
+        BigDecimal i   = BigDecimal.valueOf(index);
+        BigDecimal im1 = BigDecimal.valueOf(index - 1);
+        // the error of a step grows with (index-1)/2 times the square of the previous error
+        int        guard = GUARD_DIGITS + (int) Math.ceil(Math.log10(index));
+        int[]      precisions = newtonPrecisions(Math.max(digits, 0) + guard, guard);
+
+        for (int step = 0; step < precisions.length; step++) {
+            checkIterations(step, mc);
+            MathContext working = new MathContext(precisions[step], RoundingMode.HALF_EVEN);
+
+            // y = ((index-1)*y + x/y^(index-1)) / index
+            BigDecimal yToIm1 = power(y, index - 1, working);
+            y = im1.multiply(y).add(x.divide(yToIm1, working), working)
+                    .divide(i, working);
+        }
 
-        return x;
+        return y.setScale(scale, BigDecimal.ROUND_HALF_EVEN);
     }
 
     /**
@@ -142,68 +161,98 @@ public final class BigDecimalUtil {
      * @return the result
      */
     public static BigDecimal ln(BigDecimal x, int scale) {
+        return ln(x, PrecisionContext.DEFAULT.withScale(scale));
+    }
+
+    /**
+     * Compute the natural logarithm of x to the scale of the context, x &gt; 0.
+     * The argument is reduced to x = m * 2^k with m close to 1, so
+     * ln(x) = k*ln(2) + 2*atanh((m-1)/(m+1)), where ln(2) is cached and the
+     * atanh series gains more than a digit per term.
+     * @param x the value
+     * @param mc the precision of the result
+     * @return the result
+     */
+    public static BigDecimal ln(BigDecimal x, PrecisionContext mc) {
         // Check that x > 0.
         if (x.signum() <= 0) {
             throw new IllegalArgumentException("x <= 0");
         }
-
-        // The number of digits to the left of the decimal point.
-        int magnitude = x.toString().length() - x.scale() - 1;
-
-        if (magnitude < 3) {
-            return lnNewton(x, scale);
+        int scale = mc.getScale();
+        if (x.compareTo(BigDecimal.ONE) == 0) {
+            return BigDecimal.ZERO.setScale(scale);
         }
 
-        // Compute magnitude*ln(x^(1/magnitude)).
-        else {
+        // k = log2(x) rounded, so 0.7 < m < 1.42
+        int k = Math.toIntExact(Math.round(approximateLog10(x) / LOG10_2));
 
-            // x^(1/magnitude)
-            BigDecimal root = intRoot(x, magnitude, scale);
+        // k*ln(2) multiplies the error of ln(2) by k
+        int        workingScale = scale + GUARD_DIGITS + (int) Math.ceil(Math.log10(Math.abs((long) k) + 1));
+        MathContext working = new MathContext(workingScale + 1, RoundingMode.HALF_EVEN);
+        BigDecimal powerOfTwo = new BigDecimal(BigInteger.ONE.shiftLeft(Math.abs(k)));
+        BigDecimal m = k >= 0 ? x.divide(powerOfTwo, working) : x.multiply(powerOfTwo, working);
 
-            // ln(x^(1/magnitude))
-            BigDecimal lnRoot = lnNewton(root, scale);
+        // ln(m) = 2*atanh((m-1)/(m+1))
+        BigDecimal z = m.subtract(BigDecimal.ONE)
+                            .divide(m.add(BigDecimal.ONE), workingScale, BigDecimal.ROUND_HALF_EVEN);
+        BigDecimal lnM = atanh(z, workingScale, mc).multiply(TWO);
 
-            // magnitude*ln(x^(1/magnitude))
-            return BigDecimal.valueOf(magnitude).multiply(lnRoot)
-                        .setScale(scale, BigDecimal.ROUND_HALF_EVEN);
-        }
+        return ln2(workingScale, mc).multiply(BigDecimal.valueOf(k)).add(lnM)
+                    .setScale(scale, BigDecimal.ROUND_HALF_EVEN);
     }
 
-     /**
-     * Compute the natural logarithm of x to a given scale, x > 0.
-     * Use Newton's algorithm.
+    /**
+     * Returns ln(2) to the given scale. The most precise value computed so
+     * far is cached, smaller scales are rounded from it.
      */
-    private static BigDecimal lnNewton(BigDecimal x, int scale)
-    {
-        int        sp1 = scale + 1;
-        BigDecimal n   = x;
-        BigDecimal term;
-
-        // Convergence tolerance = 5*(10^-(scale+1))
-        BigDecimal tolerance = BigDecimal.valueOf(5)
-                                            .movePointLeft(sp1);
-
-        // Loop until the approximations converge
-        // (two successive approximations are within the tolerance).
-        do {
-
-            // e^x
-            BigDecimal eToX = exp(x, sp1);
-
-            // (e^x - n)/e^x
-            term = eToX.subtract(n)
-                        .divide(eToX, sp1, BigDecimal.ROUND_DOWN);
-
-            // x - (e^x - n)/e^x
-            x = x.subtract(term);
-
-            Thread.yield();
-        } while (term.compareTo(tolerance) > 0);
+    private static BigDecimal ln2(int scale, PrecisionContext mc) {
+        BigDecimal cached = LN2.get();
+        if (cached.scale() < scale) {
+            // ln(2) = 2*atanh(1/3)
+            int        workingScale = scale + GUARD_DIGITS;
+            BigDecimal third = BigDecimal.ONE.divide(BigDecimal.valueOf(3), workingScale, BigDecimal.ROUND_HALF_EVEN);
+            BigDecimal computed = atanh(third, workingScale, mc).multiply(TWO);
+            cached = LN2.updateAndGet(c -> c.scale() >= computed.scale() ? c : computed);
+        }
+        return cached.setScale(scale, BigDecimal.ROUND_HALF_EVEN);
+    }
 
-        return x.setScale(scale, BigDecimal.ROUND_HALF_EVEN);
+    /**
+     * Compute atanh(z) = z + z^3/3 + z^5/5 + ... to the given scale, |z| &lt; 1.
+     */
+    private static BigDecimal atanh(BigDecimal z, int scale, PrecisionContext mc) {
+        BigDecimal zSquared = z.multiply(z).setScale(scale, BigDecimal.ROUND_HALF_EVEN);
+        BigDecimal power = z;
+        BigDecimal sum = z;
+
+        // Loop until the terms vanish at the scale, every term gains log10(1/z^2) digits.
+        for (long i = 1; ; i++) {
+            checkTerms(i - 1, scale, mc);
+
+            // z^(2i+1)
+            power = power.multiply(zSquared).setScale(scale, BigDecimal.ROUND_HALF_EVEN);
+
+            // z^(2i+1)/(2i+1)
+            BigDecimal term = power.divide(BigDecimal.valueOf(2 * i + 1), scale, BigDecimal.ROUND_HALF_EVEN);
+            if (term.signum() == 0) {
+                return sum;
+            }
+            sum = sum.add(term);
+        }
     }
 
     public static BigDecimal cosine(BigDecimal x) {
+        return cosine(x, PrecisionContext.DEFAULT);
+    }
+
+    /**
+     * Compute the cosine of x (in radians) by the Taylor series,
+     * the terms are computed with five guard digits beyond the scale of the context.
+     * @param x the value of x
+     * @param mc the precision of the result
+     * @return the result value
+     */
+    public static BigDecimal cosine(BigDecimal x, PrecisionContext mc) {
 
         BigDecimal currentValue = BigDecimal.ONE;
         BigDecimal lastVal      = currentValue.add(BigDecimal.ONE);
@@ -213,6 +262,7 @@ public final class BigDecimalUtil {
         int        i            = 0;
 
         while (lastVal.compareTo(currentValue) != 0) {
+            checkIterations(i, mc);
             lastVal = currentValue;
 
             int z = 2 * i + 2;
@@ -221,7 +271,7 @@ public final class BigDecimalUtil {
             denominator = denominator.multiply(BigDecimal.valueOf(z - 1));
             numerator   = numerator.multiply(xSquared);
 
-            BigDecimal term = numerator.divide(denominator, SCALE + 5, ROUNDING_MODE);
+            BigDecimal term = numerator.divide(denominator, mc.getScale() + 5, ROUNDING_MODE);
 
             if (i % 2 == 0) {
                 currentValue = currentValue.subtract(term);
@@ -235,6 +285,17 @@ public final class BigDecimalUtil {
     }
 
     public static BigDecimal sine(BigDecimal x) {
+        return sine(x, PrecisionContext.DEFAULT);
+    }
+
+    /**
+     * Compute the sine of x (in radians) by the Taylor series,
+     * the terms are computed with five guard digits beyond the scale of the context.
+     * @param x the value of x
+     * @param mc the precision of the result
+     * @return the result value
+     */
+    public static BigDecimal sine(BigDecimal x, PrecisionContext mc) {
         BigDecimal lastVal      = x.add(BigDecimal.ONE);
         BigDecimal currentValue = x;
         BigDecimal xSquared     = x.multiply(x);
@@ -243,6 +304,7 @@ public final class BigDecimalUtil {
         int        i            = 0;
 
         while (lastVal.compareTo(currentValue) != 0) {
+            checkIterations(i, mc);
             lastVal = currentValue;
 
             int z = 2 * i + 3;
@@ -251,7 +313,7 @@ public final class BigDecimalUtil {
             denominator = denominator.multiply(BigDecimal.valueOf(z - 1));
             numerator   = numerator.multiply(xSquared);
 
-            BigDecimal term = numerator.divide(denominator, SCALE + 5, ROUNDING_MODE);
+            BigDecimal term = numerator.divide(denominator, mc.getScale() + 5, ROUNDING_MODE);
 
             if (i % 2 == 0) {
                 currentValue = currentValue.subtract(term);
@@ -315,25 +377,51 @@ public final class BigDecimalUtil {
         return ans;
     }
     
+    /**
+     * Compute the cube root of b to 40 significant digits.
+     * @param b the value of b
+     * @return the result value
+     */
     public static BigDecimal cuberoot(BigDecimal b) {
-        // Specify a math context with 40 digits of precision.
-
-        MathContext mc = new MathContext(40);
-
-        BigDecimal x = new BigDecimal("1", mc);
-
-        // Search for the cube root via the Newton-Raphson loop. Output each // successive iteration's value.
+        if (b.signum() == 0) {
+            return BigDecimal.ZERO;
+        }
+        // the scale which gives 40 significant digits, plus one for the rounding
+        int intDigits = (int) Math.floor(approximateLog10(b.abs()) / 3) + 1;
+        int scale = Math.max(40 - intDigits, 0) + 1;
+        return cuberoot(b, PrecisionContext.DEFAULT.withScale(scale)).round(new MathContext(40));
+    }
 
-        for (int i = 0; i < ITER; i++) {
-            x = x.subtract(x.pow(3, mc).subtract(b, mc).divide(new BigDecimal("3", mc).multiply(x.pow(2, mc), mc), mc), mc);
+    /**
+     * Compute the cube root of b to the scale of the context.
+     * Use Newton's algorithm with a double approximation as first value.
+     * @param b the value of b
+     * @param mc the precision of the result
+     * @return the result value
+     */
+    public static BigDecimal cuberoot(BigDecimal b, PrecisionContext mc) {
+        if (b.signum() == 0) {
+            return BigDecimal.ZERO.setScale(mc.getScale());
+        }
+        if (b.signum() < 0) {
+            return cuberoot(b.negate(), mc).negate();
         }
-        return x;
+        return root(b, 3, mc);
     }
 
     public static BigDecimal pow(BigDecimal savedValue, BigDecimal value) {
-        BigDecimal result = null;
-        result = exp(ln(savedValue, 32).multiply(value), 32);
-        return result;
+        return pow(savedValue, value, PrecisionContext.DEFAULT.withScale(32));
+    }
+
+    /**
+     * Compute savedValue^value = e^(value*ln(savedValue)) to the scale of the context, savedValue &gt; 0.
+     * @param savedValue the base
+     * @param value the exponent
+     * @param mc the precision of the result
+     * @return the result value
+     */
+    public static BigDecimal pow(BigDecimal savedValue, BigDecimal value, PrecisionContext mc) {
+        return exp(ln(savedValue, mc).multiply(value), mc);
     }
 
     /**
@@ -369,7 +457,7 @@ public final class BigDecimalUtil {
                     .setScale(scale, BigDecimal.ROUND_HALF_EVEN);
             exponent >>= 1;
 
-            Thread.yield();
+            checkInterrupted();
         }
 
         return power;
@@ -377,103 +465,238 @@ public final class BigDecimalUtil {
 
     /**
      * Compute e^x to a given scale.
-     * Break x into its whole and fraction parts and
-     * compute (e^(1 + fraction/whole))^whole using Taylor's formula.
      * @param x the value of x
      * @param scale the desired scale of the result
      * @return the result value
      */
     public static BigDecimal exp(BigDecimal x, int scale) {
+        return exp(x, PrecisionContext.DEFAULT.withScale(scale));
+    }
+
+    /**
+     * Compute e^x to the scale of the context.
+     * The argument is halved r times until it is small, the Taylor series
+     * of the small argument is summed by binary splitting over BigInteger
+     * and the sum is squared r times: e^x = (e^(x/2^r))^(2^r).
+     * @param x the value of x
+     * @param mc the precision of the result
+     * @return the result value
+     */
+    public static BigDecimal exp(BigDecimal x, PrecisionContext mc) {
+        int scale = mc.getScale();
+
         // e^0 = 1
         if (x.signum() == 0) {
-            return BigDecimal.valueOf(1);
+            return BigDecimal.ONE.setScale(scale);
         }
 
-        // If x is negative, return 1/(e^-x).
-        else if (x.signum() == -1) {
-            return BigDecimal.valueOf(1)
-                        .divide(exp(x.negate(), scale), scale,
-                                BigDecimal.ROUND_HALF_EVEN);
+        // The result has about x*log10(e) digits to the left of the decimal point.
+        double log10Result = x.doubleValue() / LN10;
+        if (log10Result > Integer.MAX_VALUE / 2) {
+            throw new ArithmeticException("x too large");
         }
+        long digits = (long) Math.floor(log10Result) + 1 + scale + GUARD_DIGITS;
 
-        // Compute the whole part of x.
-        BigDecimal xWhole = x.setScale(0, BigDecimal.ROUND_DOWN);
+        // A tiny e^x (below 10^-(scale+1)) is 0 at the scale, this includes an underflow of the double.
+        if (digits < GUARD_DIGITS - 1) {
+            return BigDecimal.ZERO.setScale(scale);
+        }
 
-        // If there isn't a whole part, compute and return e^x.
-        if (xWhole.signum() == 0) {
-            return expTaylor(x, scale);
+        // Halve until |x/2^r| < 2^-8, every squaring doubles the relative error.
+        double log2X = approximateLog10(x.abs()) / LOG10_2;
+        int    r = Math.max(0, (int) Math.ceil(log2X) + 8);
+        int    precision = Math.toIntExact(digits) + (int) Math.ceil(r * LOG10_2);
+        MathContext working = new MathContext(precision, RoundingMode.HALF_EVEN);
+
+        // y = x/2^r = x*5^r/10^r, rounded to the working precision
+        BigDecimal y = x.multiply(new BigDecimal(BigInteger.valueOf(5).pow(r)))
+                            .movePointLeft(r)
+                            .setScale(precision, BigDecimal.ROUND_HALF_EVEN);
+
+        // e^y = e^y1 * e^y2 * ..., the chunk yj has the decimal places
+        // (8*2^(j-1), 8*2^j] of y, so its series has small numbers and
+        // the longer chunks need fewer terms.
+        BigDecimal result = BigDecimal.ONE;
+        BigDecimal rest = y;
+        for (int end = 8; rest.signum() != 0; end = Math.min(2 * end, precision)) {
+            BigDecimal chunk = rest.setScale(Math.min(end, precision), BigDecimal.ROUND_DOWN);
+            rest = rest.subtract(chunk);
+            if (chunk.signum() != 0) {
+                result = result.multiply(expSeries(chunk, precision, working, mc), working);
+            }
         }
 
-        // Compute the fraction part of x.
-        BigDecimal xFraction = x.subtract(xWhole);
+        // e^x = (e^y)^(2^r)
+        for (int i = 0; i < r; i++) {
+            checkInterrupted();
+            result = result.multiply(result, working);
+        }
 
-        // z = 1 + fraction/whole
-        BigDecimal z = BigDecimal.valueOf(1)
-                            .add(xFraction.divide(
-                                    xWhole, scale,
-                                    BigDecimal.ROUND_HALF_EVEN));
+        return result.setScale(scale, BigDecimal.ROUND_HALF_EVEN);
+    }
 
-        // t = e^z
-        BigDecimal t = expTaylor(z, scale);
+    /**
+     * Compute e^y = 1 + T/Q for a small y by binary splitting of the Taylor
+     * series, y = a/10^scale(y).
+     */
+    private static BigDecimal expSeries(BigDecimal y, int precision, MathContext working,
+                                        PrecisionContext mc) {
+        BigInteger b = BigInteger.TEN.pow(Math.max(y.scale(), 0));
+        BigInteger a = y.scale() >= 0 ? y.unscaledValue() : y.toBigIntegerExact();
+        BigInteger[] pqt = expSplit(a, b, 1, expTerms(y, precision, mc));
+        return BigDecimal.ONE.add(new BigDecimal(pqt[2]).divide(new BigDecimal(pqt[1]), working));
+    }
 
-        BigDecimal maxLong = BigDecimal.valueOf(Long.MAX_VALUE);
-        BigDecimal result  = BigDecimal.valueOf(1);
+    /**
+     * Returns the number of terms of the Taylor series of e^y which are
+     * needed for the given precision, |y| &lt; 1.
+     */
+    private static int expTerms(BigDecimal y, int precision, PrecisionContext mc) {
+        if (y.signum() == 0) {
+            return 1;
+        }
+        // log10(|y|^n/n!) has to fall below -precision
+        double log10Y = approximateLog10(y.abs());
+        double log10Term = 0;
+        int n = 1;
+        while (log10Term > -precision - 1) {
+            checkTerms(n - 1, precision, mc);
+            log10Term += log10Y - Math.log10(n);
+            n++;
+        }
+        return n;
+    }
 
-        // Compute and return t^whole using intPower().
-        // If whole > Long.MAX_VALUE, then first compute products
-        // of e^Long.MAX_VALUE.
-        while (xWhole.compareTo(maxLong) >= 0) {
-            result = result.multiply(
-                                intPower(t, Long.MAX_VALUE, scale))
-                        .setScale(scale, BigDecimal.ROUND_HALF_EVEN);
-            xWhole = xWhole.subtract(maxLong);
+    /**
+     * Binary splitting of the Taylor series of e^(a/b): returns
+     * P = a^(n2-n1), Q = b^(n2-n1)*(n2-1)!/(n1-1)! and T, where T/Q is the
+     * sum of the products of a/(b*k) for k = n1..n over n1 &lt;= n &lt; n2.
+     * For n1 = 1 this is the sum of (a/b)^n/n!.
+     */
+    private static BigInteger[] expSplit(BigInteger a, BigInteger b, int n1, int n2) {
+        if (n2 - n1 <= 1) {
+            if (n2 == n1) {
+                return new BigInteger[] {BigInteger.ONE, BigInteger.ONE, BigInteger.ZERO};
+            }
+            BigInteger q = b.multiply(BigInteger.valueOf(n1));
+            return new BigInteger[] {a, q, a};
+        }
+        int m = (n1 + n2) >>> 1;
+        BigInteger[] left = expSplit(a, b, n1, m);
+        BigInteger[] right = expSplit(a, b, m, n2);
+
+        // P = P1*P2, Q = Q1*Q2, T = T1*Q2 + P1*T2
+        return new BigInteger[] {
+            left[0].multiply(right[0]),
+            left[1].multiply(right[1]),
+            left[2].multiply(right[1]).add(left[0].multiply(right[2]))
+        };
+    }
 
-            Thread.yield();
+    /**
+     * Throws if a loop used up the iteration budget of the context.
+     * @param iteration the number of finished iterations
+     * @param mc the precision context
+     */
+    private static void checkIterations(long iteration, PrecisionContext mc) {
+        if (iteration >= mc.getMaxIterations()) {
+            throw new ArithmeticException("No convergence within " + mc.getMaxIterations() + " iterations");
         }
-        return result.multiply(intPower(t, xWhole.longValue(), scale))
-                        .setScale(scale, BigDecimal.ROUND_HALF_EVEN);
+        checkInterrupted();
     }
 
     /**
-     * Compute e^x to a given scale by the Taylor series.
-     * @param x the value of x
-     * @param scale the desired scale of the result
-     * @return the result value
+     * Throws if a series used up the iteration budget of the context. A series
+     * needs more terms for more digits, so it gets the budget for every
+     * {@link #SCALE} digits of its working precision.
+     * @param term the number of finished terms
+     * @param digits the working precision of the series
+     * @param mc the precision context
      */
-    private static BigDecimal expTaylor(BigDecimal x, int scale)
-    {
-        BigDecimal factorial = BigDecimal.valueOf(1);
-        BigDecimal xPower    = x;
-        BigDecimal sumPrev;
-
-        // 1 + x
-        BigDecimal sum  = x.add(BigDecimal.valueOf(1));
-
-        // Loop until the sums converge
-        // (two successive sums are equal after rounding).
-        int i = 2;
-        do {
-            // x^i
-            xPower = xPower.multiply(x)
-                        .setScale(scale, BigDecimal.ROUND_HALF_EVEN);
-
-            // i!
-            factorial = factorial.multiply(BigDecimal.valueOf(i));
-
-            // x^i/i!
-            BigDecimal term = xPower
-                                .divide(factorial, scale,
-                                        BigDecimal.ROUND_HALF_EVEN);
-
-            // sum = sum + x^i/i!
-            sumPrev = sum;
-            sum = sum.add(term);
+    private static void checkTerms(long term, int digits, PrecisionContext mc) {
+        checkIterations(term / Math.max(1, (digits + SCALE - 1) / SCALE), mc);
+    }
+
+    /**
+     * Cooperative cancellation: throws if the current thread was interrupted.
+     * The interrupt flag stays set, so the caller can still see it.
+     */
+    private static void checkInterrupted() {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("Calculation interrupted");
+        }
+    }
+
+    /**
+     * Returns the working precisions of a Newton iteration which starts with
+     * a double approximation, in ascending order. Every step about doubles
+     * the correct digits, so a step only needs half the precision of the
+     * next one plus some guard digits for the constant of the convergence.
+     * @param target the precision of the last step
+     * @param guard the extra digits of every step
+     * @return the precision of every step
+     */
+    private static int[] newtonPrecisions(int target, int guard) {
+        int[] precisions = new int[32];
+        int steps = 0;
+        int p = target;
+        precisions[steps++] = p;
+        while (p > DOUBLE_DIGITS) {
+            int previous = p / 2 + guard;
+            if (previous >= p) {
+                break;
+            }
+            p = previous;
+            precisions[steps++] = p;
+        }
+        // ascending order
+        int[] result = new int[steps];
+        for (int i = 0; i < steps; i++) {
+            result[i] = precisions[steps - 1 - i];
+        }
+        return result;
+    }
+
+    /**
+     * Returns log10(x) as a double, also for values outside the range of double, x &gt; 0.
+     * @param x the value
+     * @return the approximation
+     */
+    private static double approximateLog10(BigDecimal x) {
+        // x = m * 10^digits with 0.1 <= m < 1
+        int digits = x.precision() - x.scale();
+        return digits + Math.log10(x.movePointLeft(digits).doubleValue());
+    }
 
-            ++i;
-            Thread.yield();
-        } while (sum.compareTo(sumPrev) != 0);
+    /**
+     * Returns 10^exponent with the precision of a double.
+     * @param exponent the exponent
+     * @return the approximation
+     */
+    private static BigDecimal powerOfTen(double exponent) {
+        double whole = Math.floor(exponent);
+        return BigDecimal.valueOf(Math.pow(10, exponent - whole)).scaleByPowerOfTen((int) whole);
+    }
 
-        return sum;
+    /**
+     * Compute x^exponent, every multiplication is rounded to the math context.
+     * @param x the value x
+     * @param exponent the exponent value, exponent &gt;= 0
+     * @param mc the math context
+     * @return the result value
+     */
+    private static BigDecimal power(BigDecimal x, long exponent, MathContext mc) {
+        BigDecimal power = BigDecimal.ONE;
+        while (exponent > 0) {
+            if ((exponent & 1) == 1) {
+                power = power.multiply(x, mc);
+            }
+            exponent >>= 1;
+            if (exponent > 0) {
+                x = x.multiply(x, mc);
+            }
+        }
+        return power;
     }
 
     public static BigDecimal asin(BigDecimal val) {
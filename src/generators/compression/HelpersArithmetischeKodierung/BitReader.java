@@ -0,0 +1,120 @@
+package generators.compression.HelpersArithmetischeKodierung;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Reads bits most significant first, the counterpart of {@link BitWriter}. The bits are kept left-aligned
+ * in a 64-bit accumulator which is refilled with whole words where possible. Reads behind the end return zeros.
+ */
+public final class BitReader {
+
+    /**
+     * Maximal number of bits of a single {@link #readBits(int)}
+     */
+    public static final int MAX_BITS = 56;
+
+    /**
+     * The channel the buffer is refilled from (null if the buffer holds all data)
+     */
+    private final ReadableByteChannel channel;
+    /**
+     * The buffer holding the next bytes
+     */
+    private final ByteBuffer buffer;
+    /**
+     * The next bits, the next bit is the highest one
+     */
+    private long accumulator;
+    /**
+     * Number of valid bits in the accumulator
+     */
+    private int count;
+    /**
+     * True if the channel has no more data
+     */
+    private boolean endOfInput;
+
+    /**
+     * Creates a reader of the remaining bytes of the buffer
+     * @param buffer the buffer (heap, direct or mapped)
+     */
+    public BitReader(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.channel = null;
+        this.endOfInput = true;
+    }
+
+    /**
+     * Creates a reader which reads the channel through a buffer of the given size
+     * @param channel the channel
+     * @param bufferSize the size of the buffer in bytes
+     */
+    public BitReader(ReadableByteChannel channel, int bufferSize) {
+        this.buffer = ByteBuffer.allocate(Math.max(16, bufferSize));
+        this.buffer.flip();
+        this.channel = channel;
+    }
+
+    /**
+     * Reads a single bit
+     */
+    public int readBit() throws IOException {
+        if(this.count == 0) refill();
+        int bit = (int) (this.accumulator >>> 63);
+        this.accumulator <<= 1;
+        this.count--;
+        return bit;
+    }
+
+    /**
+     * Reads n bits
+     * @param n the number of bits (0 to {@link #MAX_BITS})
+     */
+    public long readBits(int n) throws IOException {
+        if(n == 0) return 0;
+        if(this.count < n) refill();
+        long value = this.accumulator >>> (64 - n);
+        this.accumulator <<= n;
+        this.count -= n;
+        return value;
+    }
+
+    /**
+     * Fills the accumulator with at least {@link #MAX_BITS} bits
+     */
+    private void refill() throws IOException {
+        if(this.buffer.remaining() < 8 && !this.endOfInput) fillBuffer();
+        int bytes = (64 - this.count) >>> 3;
+        if(this.buffer.remaining() >= 8) {
+            // take the top bytes of the next word, so the accumulator gets no partial byte
+            long word = this.buffer.getLong(this.buffer.position());
+            this.accumulator |= bytes == 8 ? word : (word >>> (64 - 8 * bytes)) << (64 - this.count - 8 * bytes);
+            this.buffer.position(this.buffer.position() + bytes);
+            this.count += 8 * bytes;
+            return;
+        }
+        for(; bytes > 0; bytes--) {
+            // behind the end the input is padded with zeros
+            long next = this.buffer.hasRemaining() ? this.buffer.get() & 0xFF : 0;
+            this.accumulator |= next << (56 - this.count);
+            this.count += 8;
+        }
+    }
+
+    /**
+     * Moves the unread bytes to the front of the buffer and reads from the channel
+     */
+    private void fillBuffer() throws IOException {
+        this.buffer.compact();
+        // only wait for the bytes of the next word, the rest of the buffer is filled if the data is already there
+        while(this.buffer.position() < 8) {
+            if(this.channel.read(this.buffer) < 0) {
+                this.endOfInput = true;
+                break;
+            }
+        }
+        this.buffer.flip();
+    }
+}
@@ -0,0 +1,180 @@
+package generators.compression.HelpersArithmetischeKodierung;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Writes bits most significant first. The bits are collected in a 64-bit accumulator which is stored
+ * as a whole word into a {@link ByteBuffer}. A full buffer is either drained to a channel or replaced by a bigger one.
+ */
+public final class BitWriter {
+
+    /**
+     * The channel the buffer is drained to (null if the buffer grows instead)
+     */
+    private final WritableByteChannel channel;
+    /**
+     * The buffer the words are stored in
+     */
+    private ByteBuffer buffer;
+    /**
+     * The pending bits, the oldest bit is the highest of the lowest {@link #count} bits
+     */
+    private long accumulator;
+    /**
+     * Number of bits in the accumulator (0 to 63)
+     */
+    private int count;
+    /**
+     * Number of bits written so far
+     */
+    private long bitCount;
+
+    /**
+     * Creates a writer which collects the bits in a growing heap buffer
+     * @param initialCapacity the initial size of the buffer in bytes
+     */
+    public BitWriter(int initialCapacity) {
+        this(ByteBuffer.allocate(Math.max(16, initialCapacity)), null);
+    }
+
+    /**
+     * Creates a writer which drains the buffer to the channel whenever it is full
+     * @param buffer the buffer (heap or direct, at least 8 bytes)
+     * @param channel the channel or null if the buffer should grow when it is full
+     */
+    public BitWriter(ByteBuffer buffer, WritableByteChannel channel) {
+        if(buffer.remaining() < 8) throw new IllegalArgumentException("Der Puffer muss mindestens 8 Bytes groß sein!");
+        this.buffer = buffer;
+        this.channel = channel;
+    }
+
+    /**
+     * Writes a single bit
+     * @param bit the bit (0 or 1)
+     */
+    public void writeBit(int bit) throws IOException {
+        this.accumulator = (this.accumulator << 1) | (bit & 1);
+        this.bitCount++;
+        if(++this.count == 64) {
+            putWord(this.accumulator);
+            this.count = 0;
+        }
+    }
+
+    /**
+     * Writes the lowest bits of the value
+     * @param value the value
+     * @param n the number of bits (0 to 64)
+     */
+    public void writeBits(long value, int n) throws IOException {
+        if(n == 0) return;
+        int free = 64 - this.count;
+        if(n < free) {
+            this.accumulator = (this.accumulator << n) | (value & mask(n));
+            this.count += n;
+        } else {
+            int rest = n - free;
+            long word = free == 64 ? 0 : this.accumulator << free;
+            putWord(word | ((value >>> rest) & mask(free)));
+            this.accumulator = value & mask(rest);
+            this.count = rest;
+        }
+        this.bitCount += n;
+    }
+
+    /**
+     * Writes the same bit several times (e.g. the pending bits of the arithmetic coder)
+     * @param bit the bit (0 or 1)
+     * @param n the number of bits
+     */
+    public void writeRun(int bit, long n) throws IOException {
+        long bits = bit == 0 ? 0 : -1L;
+        for(; n >= 64; n -= 64) writeBits(bits, 64);
+        writeBits(bits, (int) n);
+    }
+
+    /**
+     * Pads the last byte with zeros and stores all bits in the buffer. If there is a channel the buffer is drained.
+     * The writer can be used afterwards, it starts at a byte boundary.
+     */
+    public void flush() throws IOException {
+        int padding = -this.count & 7;
+        this.accumulator <<= padding;
+        this.count += padding;
+        this.bitCount += padding;
+        ensureRemaining(8);
+        for(int shift = this.count - 8; shift >= 0; shift -= 8) {
+            this.buffer.put((byte) (this.accumulator >>> shift));
+        }
+        this.accumulator = 0;
+        this.count = 0;
+        if(this.channel != null) drain();
+    }
+
+    /**
+     * Writes all complete words of the buffer to the channel. Unlike {@link #flush()} no padding is added,
+     * the bits of an incomplete word stay in the accumulator. Does nothing for a writer without channel.
+     */
+    public void drainWords() throws IOException {
+        if(this.channel != null) drain();
+    }
+
+    /**
+     * Returns the number of bits written so far (including the padding of {@link #flush()})
+     */
+    public long getBitCount() {
+        return this.bitCount;
+    }
+
+    /**
+     * Returns the written bytes of a writer without channel (call {@link #flush()} first)
+     */
+    public byte[] toByteArray() {
+        ByteBuffer written = this.buffer.duplicate();
+        written.flip();
+        byte[] bytes = new byte[written.remaining()];
+        written.get(bytes);
+        return bytes;
+    }
+
+    /**
+     * Stores a whole word in the buffer
+     */
+    private void putWord(long word) throws IOException {
+        if(this.buffer.remaining() < 8) ensureRemaining(8);
+        this.buffer.putLong(word);
+    }
+
+    /**
+     * Makes room for the given number of bytes by draining or growing the buffer
+     */
+    private void ensureRemaining(int bytes) throws IOException {
+        if(this.buffer.remaining() >= bytes) return;
+        if(this.channel != null) {
+            drain();
+            return;
+        }
+        ByteBuffer bigger = ByteBuffer.allocate(Math.max(this.buffer.capacity() * 2, this.buffer.position() + bytes));
+        this.buffer.flip();
+        bigger.put(this.buffer);
+        this.buffer = bigger;
+    }
+
+    /**
+     * Writes the content of the buffer to the channel
+     */
+    private void drain() throws IOException {
+        this.buffer.flip();
+        while(this.buffer.hasRemaining()) this.channel.write(this.buffer);
+        this.buffer.clear();
+    }
+
+    /**
+     * Returns a mask of the lowest n bits
+     */
+    private static long mask(int n) {
+        return n == 64 ? -1L : (1L << n) - 1;
+    }
+}
@@ -0,0 +1,327 @@
+package generators.compression.HelpersArithmetischeKodierung;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Splits data into blocks which are arithmetically encoded independently and in parallel.
+ * <p>
+ * Container format (big endian):
+ * <pre>
+ * header:  magic (int), block size (int), original length (long)
+ * blocks:  per block the {@link ModelHeader} and the encoded bits
+ * index:   offset of every block within the container (long)
+ * trailer: block count (int), offset of the index (long)
+ * </pre>
+ * The index at the end allows to write the container as a stream and to decode any block on its own.
+ */
+public class BlockArithmeticCodec {
+
+    /**
+     * Default number of bytes per block
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 1 << 20;
+    /**
+     * Marks the start of a container ("VAB1")
+     */
+    static final int MAGIC = 0x56414231;
+    /**
+     * Size of the header in bytes
+     */
+    static final int HEADER_SIZE = 16;
+    /**
+     * Size of the trailer in bytes
+     */
+    static final int TRAILER_SIZE = 12;
+    /**
+     * Binary logarithm of the quantized total of the block models
+     */
+    static final int MODEL_BITS = 15;
+
+    /**
+     * Number of bytes per block
+     */
+    private final int blockSize;
+    /**
+     * The pool the blocks are en-/decoded on
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates a codec with the default block size on the common pool
+     */
+    public BlockArithmeticCodec() {
+        this(DEFAULT_BLOCK_SIZE, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructor of the codec
+     * @param blockSize the number of bytes per block
+     * @param pool the pool the blocks are en-/decoded on
+     */
+    public BlockArithmeticCodec(int blockSize, ForkJoinPool pool) {
+        if(blockSize <= 0 || blockSize > FrequencyTable.MAX_TOTAL) throw new IllegalArgumentException("Ungültige Blockgröße: " + blockSize);
+        this.blockSize = blockSize;
+        this.pool = pool;
+    }
+
+    /**
+     * Encodes the given data into a container
+     * @param data the data
+     */
+    public byte[] encode(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            encode(ByteBuffer.wrap(data), Channels.newChannel(out));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Encodes the remaining bytes of the given buffer into a container. The blocks are encoded in batches,
+     * so only a few encoded blocks are held in memory at once.
+     * @param data the data (heap, direct or mapped buffer)
+     * @param out the channel the container is written to
+     */
+    public void encode(ByteBuffer data, WritableByteChannel out) throws IOException {
+        long length = data.remaining();
+        int blockCount = (int) ((length + this.blockSize - 1) / this.blockSize);
+        long[] offsets = new long[blockCount];
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(this.blockSize).putLong(length).flip();
+        long position = writeFully(out, header);
+
+        int batchSize = Math.max(1, this.pool.getParallelism() * 4);
+        byte[][] encoded = new byte[Math.min(batchSize, blockCount)][];
+        for(int first = 0; first < blockCount; first += batchSize) {
+            int count = Math.min(batchSize, blockCount - first);
+            this.pool.invoke(new EncodeTask(data, first, 0, count, encoded));
+            for(int i = 0; i < count; i++) {
+                offsets[first + i] = position;
+                position += writeFully(out, ByteBuffer.wrap(encoded[i]));
+                encoded[i] = null;
+            }
+        }
+
+        ByteBuffer index = ByteBuffer.allocate(blockCount * 8 + TRAILER_SIZE);
+        for(long offset : offsets) index.putLong(offset);
+        index.putInt(blockCount).putLong(position).flip();
+        writeFully(out, index);
+    }
+
+    /**
+     * Decodes a whole container
+     * @param container the container
+     */
+    public byte[] decode(byte[] container) {
+        ByteBuffer buffer = ByteBuffer.wrap(container);
+        checkMagic(buffer);
+        long length = buffer.getLong(8);
+        if(length > Integer.MAX_VALUE) throw new IllegalArgumentException("Die Daten passen nicht in ein Array!");
+        byte[] data = new byte[(int) length];
+        decode(buffer, ByteBuffer.wrap(data));
+        return data;
+    }
+
+    /**
+     * Decodes a whole container in parallel (the block size is taken from the container)
+     * @param container the container (its position has to be at the start of the container)
+     * @param out the buffer the decoded bytes are written to (at least as big as the original length)
+     */
+    public void decode(ByteBuffer container, ByteBuffer out) {
+        ByteBuffer buffer = container.slice();
+        checkMagic(buffer);
+        this.pool.invoke(new DecodeTask(buffer, out.slice(), 0, getBlockCount(buffer)));
+    }
+
+    /**
+     * Returns the number of blocks of a container
+     * @param container the container (its position has to be at the start of the container)
+     */
+    public static int getBlockCount(ByteBuffer container) {
+        return container.getInt(container.position() + container.remaining() - TRAILER_SIZE);
+    }
+
+    /**
+     * Returns the length of the original data of a container
+     * @param container the container (its position has to be at the start of the container)
+     */
+    public static long getOriginalLength(ByteBuffer container) {
+        return container.getLong(container.position() + 8);
+    }
+
+    /**
+     * Decodes a single block of a container
+     * @param container the container
+     * @param index the number of the block
+     */
+    public static byte[] decodeBlock(byte[] container, int index) {
+        ByteBuffer buffer = ByteBuffer.wrap(container);
+        checkMagic(buffer);
+        checkIndex(buffer, index);
+        int blockSize = buffer.getInt(4);
+        long start = (long) index * blockSize;
+        byte[] data = new byte[(int) Math.min(blockSize, buffer.getLong(8) - start)];
+        decodeBlock(buffer, index, ByteBuffer.wrap(data));
+        return data;
+    }
+
+    /**
+     * Decodes a block of the container into the given buffer
+     * @param container the container, starting at position 0
+     * @param index the number of the block
+     * @param out the buffer the block is written to (starting at its position)
+     */
+    static void decodeBlock(ByteBuffer container, int index, ByteBuffer out) {
+        int blockCount = checkIndex(container, index);
+        long indexOffset = container.getLong(container.limit() - 8);
+        long start = container.getLong((int) (indexOffset + 8L * index));
+        long end = index + 1 < blockCount ? container.getLong((int) (indexOffset + 8L * (index + 1))) : indexOffset;
+
+        ByteBuffer block = container.duplicate();
+        block.limit((int) end).position((int) start);
+        try {
+            ModelHeader header = ModelHeader.read(block);
+            int blockLength = (int) header.getLength();
+            if(blockLength == 0) return;
+            FrequencyTable table = new SymbolLookupTable(header.toFrequencyTable(), MODEL_BITS);
+            ArithmeticDecoder decoder = new ArithmeticDecoder(new BitReader(block));
+            int position = out.position();
+            for(int i = 0; i < blockLength; i++) {
+                out.put(position + i, (byte) decoder.read(table));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Encodes a single block together with its model
+     * @param block the bytes of the block
+     */
+    static byte[] encodeBlock(ByteBuffer block) {
+        ModelHeader header = ModelHeader.fromCounts(FrequencyCounter.countBytes(block), MODEL_BITS);
+        FrequencyTable table = header.toFrequencyTable();
+        try {
+            ByteArrayOutputStream headerBytes = new ByteArrayOutputStream(64);
+            header.write(headerBytes);
+            BitWriter out = new BitWriter(headerBytes.size() + block.remaining() / 2 + 64);
+            for(byte b : headerBytes.toByteArray()) out.writeBits(b, 8);
+            ArithmeticEncoder encoder = new ArithmeticEncoder(out);
+            for(int i = block.position(); i < block.limit(); i++) {
+                encoder.write(table, block.get(i) & 0xFF);
+            }
+            encoder.finish();
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Checks that the buffer starts with a container
+     */
+    private static void checkMagic(ByteBuffer container) {
+        if(container.remaining() < HEADER_SIZE + TRAILER_SIZE || container.getInt(container.position()) != MAGIC) {
+            throw new IllegalArgumentException("Die Daten sind kein gültiger Block-Container!");
+        }
+    }
+
+    /**
+     * Checks that the container has a block with the given number
+     * @return the number of blocks of the container
+     */
+    private static int checkIndex(ByteBuffer container, int index) {
+        int blockCount = getBlockCount(container);
+        if(index < 0 || index >= blockCount) throw new IndexOutOfBoundsException("Block " + index + " von " + blockCount);
+        return blockCount;
+    }
+
+    /**
+     * Writes the whole buffer to the channel
+     * @return the number of written bytes
+     */
+    private static int writeFully(WritableByteChannel out, ByteBuffer buffer) throws IOException {
+        int count = buffer.remaining();
+        while(buffer.hasRemaining()) out.write(buffer);
+        return count;
+    }
+
+    /**
+     * Encodes a range of blocks by splitting it in halves
+     */
+    private final class EncodeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final ByteBuffer data;
+        private final int firstBlock;
+        private final int from;
+        private final int to;
+        private final byte[][] result;
+
+        EncodeTask(ByteBuffer data, int firstBlock, int from, int to, byte[][] result) {
+            this.data = data;
+            this.firstBlock = firstBlock;
+            this.from = from;
+            this.to = to;
+            this.result = result;
+        }
+
+        @Override
+        protected void compute() {
+            if(this.to - this.from > 1) {
+                int middle = (this.from + this.to) >>> 1;
+                invokeAll(new EncodeTask(this.data, this.firstBlock, this.from, middle, this.result),
+                        new EncodeTask(this.data, this.firstBlock, middle, this.to, this.result));
+                return;
+            }
+            long start = (long) (this.firstBlock + this.from) * blockSize;
+            ByteBuffer block = this.data.duplicate();
+            block.position((int) (this.data.position() + start));
+            block.limit((int) Math.min(this.data.limit(), block.position() + (long) blockSize));
+            this.result[this.from] = encodeBlock(block);
+        }
+    }
+
+    /**
+     * Decodes a range of blocks by splitting it in halves
+     */
+    private final class DecodeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final ByteBuffer container;
+        private final ByteBuffer out;
+        private final int from;
+        private final int to;
+
+        DecodeTask(ByteBuffer container, ByteBuffer out, int from, int to) {
+            this.container = container;
+            this.out = out;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if(this.to - this.from > 1) {
+                int middle = (this.from + this.to) >>> 1;
+                invokeAll(new DecodeTask(this.container, this.out, this.from, middle),
+                        new DecodeTask(this.container, this.out, middle, this.to));
+                return;
+            }
+            if(this.from == this.to) return;
+            ByteBuffer target = this.out.duplicate();
+            target.position((int) ((long) this.from * this.container.getInt(4)));
+            decodeBlock(this.container, this.from, target);
+        }
+    }
+}
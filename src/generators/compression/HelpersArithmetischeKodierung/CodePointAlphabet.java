@@ -0,0 +1,143 @@
+package generators.compression.HelpersArithmetischeKodierung;
+
+/**
+ * Alphabet of the Unicode code points of a text. Unlike a char alphabet a letter outside the BMP
+ * (e.g. an emoji) is a single symbol instead of two halves of a surrogate pair.
+ * The code points are ranked in ascending order, the rank is the symbol of the coding engine.
+ */
+public final class CodePointAlphabet {
+
+    /**
+     * The code points in ascending order (index = rank)
+     */
+    private final int[] codePoints;
+    /**
+     * Absolute frequency of every code point (index = rank)
+     */
+    private final int[] counts;
+    /**
+     * Maps a code point to its rank + 1 (0 if the code point is not part of the alphabet)
+     */
+    private final IntIntHashMap ranks;
+    /**
+     * Cumulative frequencies of the ranks
+     */
+    private final StaticFrequencyTable table;
+    /**
+     * Number of code points of the text
+     */
+    private final int length;
+
+    private CodePointAlphabet(IntIntHashMap histogram) {
+        this.codePoints = histogram.keys();
+        this.counts = new int[this.codePoints.length];
+        this.ranks = new IntIntHashMap(this.codePoints.length);
+        long length = 0;
+        for(int rank = 0; rank < this.codePoints.length; rank++) {
+            this.counts[rank] = histogram.get(this.codePoints[rank]);
+            this.ranks.put(this.codePoints[rank], rank + 1);
+            length += this.counts[rank];
+        }
+        this.length = (int) length;
+        this.table = this.codePoints.length == 0 ? null : new StaticFrequencyTable(this.counts);
+    }
+
+    /**
+     * Creates the alphabet of the given text
+     * @param text the text
+     */
+    public static CodePointAlphabet of(CharSequence text) {
+        return new CodePointAlphabet(FrequencyCounter.countCodePoints(text));
+    }
+
+    /**
+     * Creates the alphabet of the given absolute frequencies
+     * @param histogram the frequency of every code point of the alphabet
+     */
+    public static CodePointAlphabet fromCounts(IntIntHashMap histogram) {
+        return new CodePointAlphabet(histogram);
+    }
+
+    /**
+     * Returns the number of different code points
+     */
+    public int size() {
+        return this.codePoints.length;
+    }
+
+    /**
+     * Returns the number of code points of the text
+     */
+    public int getLength() {
+        return this.length;
+    }
+
+    /**
+     * Returns the code point of the given rank
+     * @param rank the rank
+     */
+    public int getCodePoint(int rank) {
+        return this.codePoints[rank];
+    }
+
+    /**
+     * Returns the code points in ascending order (index = rank)
+     */
+    public int[] getCodePoints() {
+        return this.codePoints.clone();
+    }
+
+    /**
+     * Returns the code point of the given rank as a String (one or two chars)
+     * @param rank the rank
+     */
+    public String getLetter(int rank) {
+        return new String(Character.toChars(this.codePoints[rank]));
+    }
+
+    /**
+     * Returns the rank of the code point or -1 if it is not part of the alphabet
+     * @param codePoint the code point
+     */
+    public int rankOf(int codePoint) {
+        return codePoint < 0 ? -1 : this.ranks.get(codePoint) - 1;
+    }
+
+    /**
+     * Returns the absolute frequency of the code point with the given rank
+     * @param rank the rank
+     */
+    public int getCount(int rank) {
+        return this.counts[rank];
+    }
+
+    /**
+     * Returns the absolute frequency of every rank
+     */
+    public int[] getCounts() {
+        return this.counts.clone();
+    }
+
+    /**
+     * Returns the cumulative frequencies of the ranks (null for an empty text)
+     */
+    public StaticFrequencyTable getFrequencyTable() {
+        return this.table;
+    }
+
+    /**
+     * Returns the rank of every code point of the text
+     * @param text a text which only consists of code points of the alphabet
+     */
+    public int[] toRanks(CharSequence text) {
+        int[] result = new int[Character.codePointCount(text, 0, text.length())];
+        int offset = 0;
+        for(int i = 0; i < result.length; i++) {
+            int codePoint = Character.codePointAt(text, offset);
+            offset += Character.charCount(codePoint);
+            result[i] = rankOf(codePoint);
+            if(result[i] < 0) throw new IllegalArgumentException("Das Zeichen U+" + Integer.toHexString(codePoint).toUpperCase() + " ist nicht Teil des Alphabets!");
+        }
+        return result;
+    }
+}
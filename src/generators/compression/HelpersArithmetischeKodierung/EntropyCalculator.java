@@ -0,0 +1,94 @@
+package generators.compression.HelpersArithmetischeKodierung;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Calculates the entropy of absolute frequencies. The fast path works with doubles and a table of c * log2(c),
+ * the precise path with BigDecimal logarithms which are memoized in the {@link BigDecimalCache}.
+ * <p>
+ * The information content of a word is sum n_i * -log2(n_i / n) = n * log2(n) - sum n_i * log2(n_i),
+ * so only logarithms of integer counts are needed.
+ */
+public final class EntropyCalculator {
+
+    /**
+     * Counts below this value are looked up in the table
+     */
+    static final int TABLE_SIZE = 1 << 16;
+    /**
+     * 1 / ln(2)
+     */
+    private static final double INV_LN2 = 1 / Math.log(2);
+
+    private EntropyCalculator() {
+    }
+
+    /**
+     * The table of c * log2(c), created on first use
+     */
+    private static final class Table {
+        static final double[] N_LOG2_N = new double[TABLE_SIZE];
+
+        static {
+            for(int c = 2; c < TABLE_SIZE; c++) N_LOG2_N[c] = c * Math.log(c) * INV_LN2;
+        }
+    }
+
+    /**
+     * Returns c * log2(c)
+     * @param c the count
+     */
+    static double nLog2N(long c) {
+        if(c < TABLE_SIZE) return Table.N_LOG2_N[(int) c];
+        return c * Math.log(c) * INV_LN2;
+    }
+
+    /**
+     * Returns the information content in bits of a word with the given absolute frequencies
+     * @param counts the absolute frequency of every symbol
+     */
+    public static double entropyBits(int[] counts) {
+        long length = 0;
+        double sum = 0;
+        for(int count : counts) {
+            length += count;
+            sum += nLog2N(count);
+        }
+        return Math.max(nLog2N(length) - sum, 0);
+    }
+
+    /**
+     * Returns the entropy in bits per symbol of the given absolute frequencies
+     * @param counts the absolute frequency of every symbol
+     */
+    public static double entropyPerSymbol(int[] counts) {
+        long length = 0;
+        for(int count : counts) length += count;
+        return length == 0 ? 0 : entropyBits(counts) / length;
+    }
+
+    /**
+     * Returns the information content in bits of a word with the given absolute frequencies to the given scale
+     * @param counts the absolute frequency of every symbol
+     * @param scale the number of decimal places
+     */
+    public static BigDecimal entropyBits(int[] counts, int scale) {
+        int workingScale = scale + 5;
+        PrecisionContext mc = PrecisionContext.DEFAULT.withScale(workingScale);
+        BigDecimalCache cache = BigDecimalCache.shared();
+        long length = 0;
+        BigDecimal sum = BigDecimal.ZERO;
+        for(int count : counts) {
+            if(count <= 1) {
+                length += count;
+                continue;
+            }
+            length += count;
+            sum = sum.add(BigDecimal.valueOf(count).multiply(cache.ln(BigDecimal.valueOf(count), mc)));
+        }
+        if(length <= 1) return BigDecimal.ZERO.setScale(scale);
+        BigDecimal nLnN = BigDecimal.valueOf(length).multiply(cache.ln(BigDecimal.valueOf(length), mc));
+        return nLnN.subtract(sum).divide(cache.ln(BigDecimal.valueOf(2), mc), scale, RoundingMode.HALF_UP);
+    }
+}
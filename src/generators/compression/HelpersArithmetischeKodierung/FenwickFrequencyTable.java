@@ -0,0 +1,142 @@
+package generators.compression.HelpersArithmetischeKodierung;
+
+/**
+ * Mutable frequency table backed by a binary indexed tree (Fenwick tree).
+ * Cumulative frequencies, updates and the symbol search of the decoder need O(log n) steps.
+ */
+public class FenwickFrequencyTable implements FrequencyTable {
+
+    /**
+     * The frequency of every symbol
+     */
+    private final int[] frequencies;
+    /**
+     * The binary indexed tree, tree[i] is the sum of the frequencies of the symbols (i - (i &amp; -i), i]
+     */
+    private final int[] tree;
+    /**
+     * Highest power of two which is not bigger than the number of symbols
+     */
+    private final int topStep;
+    /**
+     * Sum of all frequencies
+     */
+    private int total;
+    /**
+     * Number of changes so far
+     */
+    private long revision;
+
+    /**
+     * Creates a table where every symbol has the frequency 0
+     * @param symbolLimit the number of symbols
+     */
+    public FenwickFrequencyTable(int symbolLimit) {
+        this(new int[symbolLimit]);
+    }
+
+    /**
+     * Creates a table from the absolute frequencies of the symbols in O(n)
+     * @param frequencies the frequency of every symbol (index = symbol)
+     */
+    public FenwickFrequencyTable(int[] frequencies) {
+        if(frequencies.length == 0) throw new IllegalArgumentException("Das Alphabet darf nicht leer sein!");
+        this.frequencies = frequencies.clone();
+        this.tree = new int[frequencies.length + 1];
+        this.topStep = Integer.highestOneBit(frequencies.length);
+        long sum = 0;
+        for(int i = 1; i <= frequencies.length; i++) {
+            if(frequencies[i - 1] < 0) throw new IllegalArgumentException("Eine Häufigkeit darf nicht negativ sein!");
+            sum += frequencies[i - 1];
+            this.tree[i] += frequencies[i - 1];
+            // pass the partial sum to the parent node
+            int parent = i + (i & -i);
+            if(parent <= frequencies.length) this.tree[parent] += this.tree[i];
+        }
+        if(sum > Integer.MAX_VALUE) throw new IllegalArgumentException("Die Summe der Häufigkeiten ist zu groß!");
+        this.total = (int) sum;
+    }
+
+    /**
+     * Increments the frequency of a symbol by one
+     * @param symbol the symbol
+     */
+    public void increment(int symbol) {
+        add(symbol, 1);
+    }
+
+    /**
+     * Sets the frequency of a symbol
+     * @param symbol the symbol
+     * @param frequency the new frequency
+     */
+    public void set(int symbol, int frequency) {
+        if(frequency < 0) throw new IllegalArgumentException("Eine Häufigkeit darf nicht negativ sein!");
+        add(symbol, frequency - this.frequencies[symbol]);
+    }
+
+    /**
+     * Adds a value to the frequency of a symbol
+     * @param symbol the symbol
+     * @param delta the value to add
+     */
+    public void add(int symbol, int delta) {
+        if(this.frequencies[symbol] + delta < 0) throw new IllegalArgumentException("Eine Häufigkeit darf nicht negativ sein!");
+        this.frequencies[symbol] += delta;
+        this.total += delta;
+        this.revision++;
+        for(int i = symbol + 1; i < this.tree.length; i += i & -i) {
+            this.tree[i] += delta;
+        }
+    }
+
+    @Override
+    public long getRevision() {
+        return this.revision;
+    }
+
+    @Override
+    public int getSymbolLimit() {
+        return this.frequencies.length;
+    }
+
+    @Override
+    public int get(int symbol) {
+        return this.frequencies[symbol];
+    }
+
+    @Override
+    public int getTotal() {
+        return this.total;
+    }
+
+    @Override
+    public int getLow(int symbol) {
+        int sum = 0;
+        for(int i = symbol; i > 0; i -= i & -i) {
+            sum += this.tree[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public int getHigh(int symbol) {
+        return getLow(symbol) + this.frequencies[symbol];
+    }
+
+    @Override
+    public int getSymbol(int cumulative) {
+        if(cumulative < 0 || cumulative >= this.total) throw new IllegalArgumentException("Kumulative Häufigkeit außerhalb des Modells: " + cumulative);
+        // descend the tree to the biggest symbol whose interval starts at or before the value
+        int position = 0;
+        int remaining = cumulative;
+        for(int step = this.topStep; step > 0; step >>>= 1) {
+            int next = position + step;
+            if(next < this.tree.length && this.tree[next] <= remaining) {
+                position = next;
+                remaining -= this.tree[next];
+            }
+        }
+        return position;
+    }
+}
@@ -0,0 +1,179 @@
+package generators.compression.HelpersArithmetischeKodierung;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Counts the absolute frequencies of bytes and chars into dense histograms.
+ * Big inputs are split into slices which are counted in parallel and merged afterwards.
+ */
+public final class FrequencyCounter {
+
+    /**
+     * Inputs up to this length are counted by a single thread
+     */
+    static final int SEQUENTIAL_THRESHOLD = 1 << 18;
+
+    private FrequencyCounter() {
+    }
+
+    /**
+     * Counts the bytes of the given array
+     * @param data the bytes
+     * @return the frequency of every byte (index = unsigned byte)
+     */
+    public static int[] countBytes(byte[] data) {
+        return countBytes(data, 0, data.length);
+    }
+
+    /**
+     * Counts the bytes of a part of the given array
+     * @param data the bytes
+     * @param from the first index (inclusive)
+     * @param to the last index (exclusive)
+     * @return the frequency of every byte (index = unsigned byte)
+     */
+    public static int[] countBytes(byte[] data, int from, int to) {
+        if(to - from <= SEQUENTIAL_THRESHOLD) return countBytesSequential(data, from, to);
+        return ForkJoinPool.commonPool().invoke(new ByteCountTask(data, from, to));
+    }
+
+    /**
+     * Counts the remaining bytes of the given buffer without changing its position
+     * @param data the bytes (heap, direct or mapped buffer)
+     * @return the frequency of every byte (index = unsigned byte)
+     */
+    public static int[] countBytes(ByteBuffer data) {
+        if(data.hasArray()) {
+            int offset = data.arrayOffset();
+            return countBytes(data.array(), offset + data.position(), offset + data.limit());
+        }
+        int[] count0 = new int[256];
+        int[] count1 = new int[256];
+        int i = data.position();
+        for(; i + 1 < data.limit(); i += 2) {
+            count0[data.get(i) & 0xFF]++;
+            count1[data.get(i + 1) & 0xFF]++;
+        }
+        if(i < data.limit()) count0[data.get(i) & 0xFF]++;
+        return merge(count0, count1);
+    }
+
+    /**
+     * Counts the Unicode code points of the given text, a surrogate pair counts as one code point
+     * @param text the text
+     * @return the frequency of every code point
+     */
+    public static IntIntHashMap countCodePoints(CharSequence text) {
+        IntIntHashMap counts = new IntIntHashMap();
+        int length = text.length();
+        for(int i = 0; i < length; ) {
+            int codePoint = Character.codePointAt(text, i);
+            counts.addTo(codePoint, 1);
+            i += Character.charCount(codePoint);
+        }
+        return counts;
+    }
+
+    /**
+     * Counts the chars of the given text
+     * @param text the text
+     * @return the frequency of every char (index = char)
+     */
+    public static int[] countChars(CharSequence text) {
+        if(text.length() <= SEQUENTIAL_THRESHOLD) return countCharsSequential(text, 0, text.length());
+        return ForkJoinPool.commonPool().invoke(new CharCountTask(text, 0, text.length()));
+    }
+
+    /**
+     * Counts a slice of bytes with four interleaved histograms, so successive equal bytes do not wait for each other
+     */
+    private static int[] countBytesSequential(byte[] data, int from, int to) {
+        int[] count0 = new int[256];
+        int[] count1 = new int[256];
+        int[] count2 = new int[256];
+        int[] count3 = new int[256];
+        int i = from;
+        for(; i + 3 < to; i += 4) {
+            count0[data[i] & 0xFF]++;
+            count1[data[i + 1] & 0xFF]++;
+            count2[data[i + 2] & 0xFF]++;
+            count3[data[i + 3] & 0xFF]++;
+        }
+        for(; i < to; i++) count0[data[i] & 0xFF]++;
+        for(int b = 0; b < 256; b++) count0[b] += count1[b] + count2[b] + count3[b];
+        return count0;
+    }
+
+    /**
+     * Counts a slice of chars
+     */
+    private static int[] countCharsSequential(CharSequence text, int from, int to) {
+        int[] count = new int[Character.MAX_VALUE + 1];
+        for(int i = from; i < to; i++) count[text.charAt(i)]++;
+        return count;
+    }
+
+    /**
+     * Adds the second histogram to the first one
+     */
+    private static int[] merge(int[] into, int[] other) {
+        for(int i = 0; i < into.length; i++) into[i] += other[i];
+        return into;
+    }
+
+    /**
+     * Counts a slice of bytes by splitting it in halves
+     */
+    private static final class ByteCountTask extends RecursiveTask<int[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final byte[] data;
+        private final int from;
+        private final int to;
+
+        ByteCountTask(byte[] data, int from, int to) {
+            this.data = data;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected int[] compute() {
+            if(this.to - this.from <= SEQUENTIAL_THRESHOLD) return countBytesSequential(this.data, this.from, this.to);
+            int middle = (this.from + this.to) >>> 1;
+            ByteCountTask left = new ByteCountTask(this.data, this.from, middle);
+            left.fork();
+            int[] right = new ByteCountTask(this.data, middle, this.to).compute();
+            return merge(right, left.join());
+        }
+    }
+
+    /**
+     * Counts a slice of chars by splitting it in halves
+     */
+    private static final class CharCountTask extends RecursiveTask<int[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final CharSequence text;
+        private final int from;
+        private final int to;
+
+        CharCountTask(CharSequence text, int from, int to) {
+            this.text = text;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected int[] compute() {
+            if(this.to - this.from <= SEQUENTIAL_THRESHOLD) return countCharsSequential(this.text, this.from, this.to);
+            int middle = (this.from + this.to) >>> 1;
+            CharCountTask left = new CharCountTask(this.text, this.from, middle);
+            left.fork();
+            int[] right = new CharCountTask(this.text, middle, this.to).compute();
+            return merge(right, left.join());
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package generators.compression.HelpersArithmetischeKodierung;
+
+/**
+ * Scales absolute frequencies to a fixed power of two total, as needed by table based coders and model headers
+ */
+public final class FrequencyQuantizer {
+
+    private FrequencyQuantizer() {
+    }
+
+    /**
+     * Scales the counts so that they sum up to exactly 2^totalBits. Every symbol with a count &gt; 0 keeps a frequency &gt; 0.
+     * @param counts the absolute frequency of every symbol
+     * @param totalBits the binary logarithm of the new total
+     * @return the quantized frequency of every symbol
+     */
+    public static int[] quantize(int[] counts, int totalBits) {
+        if(totalBits < 1 || totalBits > 30) throw new IllegalArgumentException("Ungültige Anzahl an Bits: " + totalBits);
+        int target = 1 << totalBits;
+        long total = 0;
+        int used = 0;
+        for(int count : counts) {
+            if(count < 0) throw new IllegalArgumentException("Eine Häufigkeit darf nicht negativ sein!");
+            total += count;
+            if(count > 0) used++;
+        }
+        if(used == 0) throw new IllegalArgumentException("Mindestens ein Symbol muss vorkommen!");
+        if(used > target) throw new IllegalArgumentException(used + " Symbole passen nicht in " + totalBits + " Bits!");
+
+        int[] quantized = new int[counts.length];
+        long sum = 0;
+        int largest = -1;
+        for(int i = 0; i < counts.length; i++) {
+            if(counts[i] == 0) continue;
+            quantized[i] = (int) Math.max(1, counts[i] * (long) target / total);
+            sum += quantized[i];
+            if(largest < 0 || counts[i] > counts[largest]) largest = i;
+        }
+
+        long diff = target - sum;
+        if(diff > 0) {
+            // the rounding error goes to the most frequent symbol, it costs the least there
+            quantized[largest] += (int) diff;
+        }
+        while(diff < 0) {
+            // rare symbols were raised to 1, take the surplus from the biggest frequencies
+            int max = largest;
+            for(int i = 0; i < quantized.length; i++) if(quantized[i] > quantized[max]) max = i;
+            int take = (int) Math.min(-diff, quantized[max] - 1);
+            quantized[max] -= take;
+            diff += take;
+        }
+        return quantized;
+    }
+
+    /**
+     * Returns the number of bits needed to give each of the used symbols a frequency &gt; 0
+     * @param counts the absolute frequency of every symbol
+     * @param minimumBits the lower bound of the result
+     */
+    public static int requiredBits(int[] counts, int minimumBits) {
+        int used = 0;
+        for(int count : counts) if(count > 0) used++;
+        int bits = minimumBits;
+        while((1 << bits) < used) bits++;
+        return bits;
+    }
+}
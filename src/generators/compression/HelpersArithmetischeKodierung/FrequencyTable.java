@@ -0,0 +1,55 @@
+package generators.compression.HelpersArithmetischeKodierung;
+
+/**
+ * Integer model of an alphabet for the arithmetic coding engine.
+ * Every symbol 0..getSymbolLimit()-1 owns the interval [getLow(symbol), getHigh(symbol)) of [0, getTotal()).
+ */
+public interface FrequencyTable {
+
+    /**
+     * The biggest total the coding engine can narrow its registers with
+     */
+    int MAX_TOTAL = 1 << 30;
+
+    /**
+     * Returns the number of symbols of the alphabet
+     */
+    int getSymbolLimit();
+
+    /**
+     * Returns the frequency of the given symbol
+     * @param symbol the symbol
+     */
+    int get(int symbol);
+
+    /**
+     * Returns the sum of all frequencies
+     */
+    int getTotal();
+
+    /**
+     * Returns the sum of the frequencies of all symbols smaller than the given symbol
+     * @param symbol the symbol
+     */
+    int getLow(int symbol);
+
+    /**
+     * Returns the sum of the frequencies of all symbols smaller or equal than the given symbol
+     * @param symbol the symbol
+     */
+    int getHigh(int symbol);
+
+    /**
+     * Returns the symbol whose interval contains the given cumulative frequency
+     * @param cumulative the cumulative frequency, 0 &lt;= cumulative &lt; getTotal()
+     */
+    int getSymbol(int cumulative);
+
+    /**
+     * Returns a number which changes whenever a frequency changes, so derived tables (e.g. a
+     * {@link SymbolLookupTable}) know when they have to be rebuilt. Immutable tables keep the default 0.
+     */
+    default long getRevision() {
+        return 0;
+    }
+}
@@ -0,0 +1,165 @@
+package generators.compression.HelpersArithmetischeKodierung;
+
+import java.util.Arrays;
+
+/**
+ * Map from non-negative int keys to int values with open addressing (linear probing) in two primitive arrays,
+ * so no key or value is boxed. Missing keys have the value 0 unless another default is given.
+ */
+public final class IntIntHashMap {
+
+    /**
+     * Marks an empty slot
+     */
+    private static final int EMPTY = -1;
+
+    /**
+     * The keys of all slots ({@link #EMPTY} if the slot is free)
+     */
+    private int[] keys;
+    /**
+     * The values of all slots
+     */
+    private int[] values;
+    /**
+     * Number of stored keys
+     */
+    private int size;
+
+    /**
+     * Creates an empty map
+     */
+    public IntIntHashMap() {
+        this(16);
+    }
+
+    /**
+     * Creates an empty map which can hold the given number of keys without growing
+     * @param expectedSize the expected number of keys
+     */
+    public IntIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 4 / 3 + 1) - 1) << 1;
+        this.keys = new int[capacity];
+        this.values = new int[capacity];
+        Arrays.fill(this.keys, EMPTY);
+    }
+
+    /**
+     * Returns the value of the key or 0 if the key is missing
+     * @param key the key (not negative)
+     */
+    public int get(int key) {
+        return getOrDefault(key, 0);
+    }
+
+    /**
+     * Returns the value of the key
+     * @param key the key (not negative)
+     * @param defaultValue the value if the key is missing
+     */
+    public int getOrDefault(int key, int defaultValue) {
+        int slot = find(key);
+        return this.keys[slot] == key ? this.values[slot] : defaultValue;
+    }
+
+    /**
+     * Checks if the key is stored
+     * @param key the key (not negative)
+     */
+    public boolean containsKey(int key) {
+        return this.keys[find(key)] == key;
+    }
+
+    /**
+     * Stores the value of the key
+     * @param key the key (not negative)
+     * @param value the value
+     */
+    public void put(int key, int value) {
+        int slot = insert(key);
+        this.values[slot] = value;
+    }
+
+    /**
+     * Adds a value to the value of the key (a missing key starts with 0)
+     * @param key the key (not negative)
+     * @param delta the value to add
+     * @return the new value
+     */
+    public int addTo(int key, int delta) {
+        int slot = insert(key);
+        return this.values[slot] += delta;
+    }
+
+    /**
+     * Returns the number of stored keys
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns all keys in ascending order
+     */
+    public int[] keys() {
+        int[] result = new int[this.size];
+        int pos = 0;
+        for(int key : this.keys) {
+            if(key != EMPTY) result[pos++] = key;
+        }
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * Returns the slot of the key or the empty slot where it would be stored
+     */
+    private int find(int key) {
+        // a negative key would be mistaken for an empty slot
+        if(key < 0) throw new IllegalArgumentException("Der Schlüssel darf nicht negativ sein: " + key);
+        int mask = this.keys.length - 1;
+        int slot = mix(key) & mask;
+        while(this.keys[slot] != key && this.keys[slot] != EMPTY) slot = (slot + 1) & mask;
+        return slot;
+    }
+
+    /**
+     * Returns the slot of the key, a missing key is inserted with the value 0
+     */
+    private int insert(int key) {
+        int slot = find(key);
+        if(this.keys[slot] == key) return slot;
+        if((this.size + 1) * 4 > this.keys.length * 3) {
+            grow();
+            slot = find(key);
+        }
+        this.keys[slot] = key;
+        this.size++;
+        return slot;
+    }
+
+    /**
+     * Doubles the capacity and stores all keys again
+     */
+    private void grow() {
+        int[] oldKeys = this.keys;
+        int[] oldValues = this.values;
+        this.keys = new int[oldKeys.length * 2];
+        this.values = new int[oldValues.length * 2];
+        Arrays.fill(this.keys, EMPTY);
+        for(int i = 0; i < oldKeys.length; i++) {
+            if(oldKeys[i] == EMPTY) continue;
+            int slot = find(oldKeys[i]);
+            this.keys[slot] = oldKeys[i];
+            this.values[slot] = oldValues[i];
+        }
+    }
+
+    /**
+     * Spreads the bits of the key, neighbouring code points would otherwise fill neighbouring slots
+     */
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,197 @@
+package generators.compression.HelpersArithmetischeKodierung;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Compact serialized form of an order-0 model. The frequencies are quantized to a power of two total,
+ * so encoder and decoder build the identical integer model from the header.
+ * <p>
+ * Format (varints with 7 bits per byte, lowest group first):
+ * <pre>
+ * length (varint), symbol limit (varint), total bits (byte), number of runs (varint)
+ * per run of used symbols: gap to the end of the previous run (varint), run length (varint),
+ *                          frequency - 1 of every symbol of the run (varint)
+ * </pre>
+ */
+public final class ModelHeader {
+
+    /**
+     * Default binary logarithm of the quantized total
+     */
+    public static final int DEFAULT_TOTAL_BITS = 12;
+    /**
+     * Largest binary logarithm of the quantized total
+     */
+    public static final int MAX_TOTAL_BITS = 24;
+
+    /**
+     * Number of coded symbols
+     */
+    private final long length;
+    /**
+     * Binary logarithm of the sum of the frequencies
+     */
+    private final int totalBits;
+    /**
+     * Quantized frequency of every symbol (index = symbol)
+     */
+    private final int[] frequencies;
+
+    private ModelHeader(long length, int totalBits, int[] frequencies) {
+        this.length = length;
+        this.totalBits = totalBits;
+        this.frequencies = frequencies;
+    }
+
+    /**
+     * Creates the header of a message with the given absolute frequencies
+     * @param counts the absolute frequency of every symbol (the length of the array is the symbol limit)
+     * @param totalBits the binary logarithm of the quantized total, more bits are used if the alphabet needs them
+     */
+    public static ModelHeader fromCounts(int[] counts, int totalBits) {
+        long length = 0;
+        for(int count : counts) length += count;
+        int bits = FrequencyQuantizer.requiredBits(counts, totalBits);
+        if(bits > MAX_TOTAL_BITS) throw new IllegalArgumentException("Das Alphabet ist zu groß für den Modellkopf!");
+        int[] frequencies = length == 0 ? new int[counts.length] : FrequencyQuantizer.quantize(counts, bits);
+        return new ModelHeader(length, bits, frequencies);
+    }
+
+    /**
+     * Writes the header
+     * @param out the stream
+     */
+    public void write(OutputStream out) throws IOException {
+        writeVarLong(out, this.length);
+        writeVarLong(out, this.frequencies.length);
+        out.write(this.totalBits);
+        int runs = 0;
+        for(int s = 0; s < this.frequencies.length; s++) {
+            if(this.frequencies[s] > 0 && (s == 0 || this.frequencies[s - 1] == 0)) runs++;
+        }
+        writeVarLong(out, runs);
+        int end = 0;
+        int s = 0;
+        while(s < this.frequencies.length) {
+            if(this.frequencies[s] == 0) {
+                s++;
+                continue;
+            }
+            int start = s;
+            while(s < this.frequencies.length && this.frequencies[s] > 0) s++;
+            writeVarLong(out, start - end);
+            writeVarLong(out, s - start);
+            for(int i = start; i < s; i++) writeVarLong(out, this.frequencies[i] - 1);
+            end = s;
+        }
+    }
+
+    /**
+     * Reads a header
+     * @param in the stream
+     */
+    public static ModelHeader read(InputStream in) throws IOException {
+        long length = readVarLong(in);
+        long symbolLimit = readVarLong(in);
+        int totalBits = readByte(in);
+        if(length < 0 || symbolLimit <= 0 || symbolLimit > Character.MAX_CODE_POINT + 1 || totalBits > MAX_TOTAL_BITS) throw new IOException("Ungültiger Modellkopf!");
+        int[] frequencies = new int[(int) symbolLimit];
+        long runs = readVarLong(in);
+        long end = 0;
+        long total = 0;
+        for(long r = 0; r < runs; r++) {
+            // a corrupt varint may be negative or overflow the sum
+            long start = end + readVarLong(in);
+            if(start < end || start < 0) throw new IOException("Ungültiger Modellkopf!");
+            end = start + readVarLong(in);
+            if(end < start || end > symbolLimit) throw new IOException("Ungültiger Modellkopf!");
+            for(int s = (int) start; s < end; s++) {
+                long frequency = readVarLong(in) + 1;
+                if(frequency <= 0 || frequency > Integer.MAX_VALUE) throw new IOException("Ungültiger Modellkopf!");
+                frequencies[s] = (int) frequency;
+                total += frequency;
+            }
+        }
+        if(length > 0 && total != 1L << totalBits) throw new IOException("Ungültiger Modellkopf!");
+        return new ModelHeader(length, totalBits, frequencies);
+    }
+
+    /**
+     * Reads a header from the buffer, the position is moved behind the header
+     * @param buffer the buffer
+     */
+    public static ModelHeader read(ByteBuffer buffer) throws IOException {
+        return read(new InputStream() {
+            @Override
+            public int read() {
+                return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+            }
+        });
+    }
+
+    /**
+     * Returns the integer model of the header
+     */
+    public StaticFrequencyTable toFrequencyTable() {
+        if(this.length == 0) throw new IllegalStateException("Eine leere Nachricht hat kein Modell!");
+        return new StaticFrequencyTable(this.frequencies);
+    }
+
+    /**
+     * Getter for the number of coded symbols
+     */
+    public long getLength() {
+        return this.length;
+    }
+
+    /**
+     * Getter for the binary logarithm of the quantized total
+     */
+    public int getTotalBits() {
+        return this.totalBits;
+    }
+
+    /**
+     * Returns the quantized frequency of every symbol
+     */
+    public int[] getFrequencies() {
+        return this.frequencies.clone();
+    }
+
+    /**
+     * Writes a non-negative number with 7 bits per byte, the highest bit marks that more bytes follow
+     */
+    static void writeVarLong(OutputStream out, long value) throws IOException {
+        while((value & ~0x7FL) != 0) {
+            out.write((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    /**
+     * Reads a number written by {@link #writeVarLong(OutputStream, long)}
+     */
+    static long readVarLong(InputStream in) throws IOException {
+        long value = 0;
+        for(int shift = 0; shift < 64; shift += 7) {
+            int b = readByte(in);
+            value |= (long) (b & 0x7F) << shift;
+            if((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Ungültige Zahl im Modellkopf!");
+    }
+
+    /**
+     * Reads a byte, the end of the stream is an error
+     */
+    private static int readByte(InputStream in) throws IOException {
+        int b = in.read();
+        if(b < 0) throw new EOFException("Der Modellkopf ist unvollständig!");
+        return b;
+    }
+}
@@ -0,0 +1,240 @@
+package generators.compression.HelpersArithmetischeKodierung;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * PPM-style byte model which predicts a symbol from the preceding bytes (its context).
+ * The longest context (order k) is tried first. If the symbol was not seen in a context
+ * an escape is coded and the next shorter context is tried, down to a uniform model (order -1).
+ * Escapes get the number of distinct symbols of the context as frequency (PPM method C).
+ * <p>
+ * The statistics of all contexts are kept in an open-addressing hash table of primitive arrays.
+ * The table has a fixed capacity and is cleared when it is full, so memory stays bounded.
+ */
+public class OrderKContextModel implements SymbolModel {
+
+    /**
+     * Highest supported order, the context of all orders fits into a long key
+     */
+    public static final int MAX_ORDER = 6;
+    /**
+     * Default number of contexts the table can hold
+     */
+    public static final int DEFAULT_CAPACITY = 1 << 12;
+    /**
+     * A context is rescaled when its total reaches this value
+     */
+    static final int RESCALE_LIMIT = 1 << 16;
+    /**
+     * Marks an empty slot of the table
+     */
+    private static final long EMPTY = -1L;
+
+    /**
+     * Length of the longest context
+     */
+    private final int order;
+    /**
+     * Number of symbols (every byte and optionally an end marker)
+     */
+    private final int symbolLimit;
+    /**
+     * Capacity - 1, the capacity is a power of two
+     */
+    private final int mask;
+    /**
+     * Number of contexts which may be stored before the table is cleared
+     */
+    private final int maxContexts;
+    /**
+     * Key of every slot (order and context bytes) or {@link #EMPTY}
+     */
+    private final long[] keys;
+    /**
+     * The counts of all slots, symbolLimit counts per slot
+     */
+    private final int[] counts;
+    /**
+     * Sum of the counts of every slot
+     */
+    private final int[] totals;
+    /**
+     * Number of symbols with a count > 0 of every slot
+     */
+    private final int[] distinct;
+    /**
+     * Slot of every order for the current symbol
+     */
+    private final int[] slots;
+    /**
+     * Number of used slots
+     */
+    private int size;
+    /**
+     * The last bytes, the most recent one in the lowest 8 bits
+     */
+    private long history;
+
+    /**
+     * Creates a model with the default capacity
+     * @param order the length of the longest context (0 to {@link #MAX_ORDER})
+     * @param symbolLimit the number of symbols (256 or 257 with an end marker)
+     */
+    public OrderKContextModel(int order, int symbolLimit) {
+        this(order, symbolLimit, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor of the model, it needs about capacity * (symbolLimit + 3) * 4 bytes
+     * @param order the length of the longest context (0 to {@link #MAX_ORDER})
+     * @param symbolLimit the number of symbols (256 or 257 with an end marker)
+     * @param capacity the number of contexts the table can hold (rounded up to a power of two)
+     */
+    public OrderKContextModel(int order, int symbolLimit, int capacity) {
+        if(order < 0 || order > MAX_ORDER) throw new IllegalArgumentException("Die Ordnung muss zwischen 0 und " + MAX_ORDER + " liegen!");
+        if(symbolLimit < 256 || symbolLimit > 257) throw new IllegalArgumentException("Das Modell ist nur für Bytes (und ein Endezeichen) geeignet!");
+        if(capacity < 2 || capacity > (1 << 24)) throw new IllegalArgumentException("Ungültige Kapazität: " + capacity);
+        int tableSize = Integer.highestOneBit(capacity - 1) << 1;
+        this.order = order;
+        this.symbolLimit = symbolLimit;
+        this.mask = tableSize - 1;
+        this.maxContexts = tableSize - (tableSize >> 2);
+        this.keys = new long[tableSize];
+        this.counts = new int[tableSize * symbolLimit];
+        this.totals = new int[tableSize];
+        this.distinct = new int[tableSize];
+        this.slots = new int[order + 1];
+        reset();
+    }
+
+    /**
+     * Forgets all statistics and the history
+     */
+    public void reset() {
+        Arrays.fill(this.keys, EMPTY);
+        Arrays.fill(this.counts, 0);
+        Arrays.fill(this.totals, 0);
+        Arrays.fill(this.distinct, 0);
+        this.size = 0;
+        this.history = 0;
+    }
+
+    @Override
+    public int getSymbolLimit() {
+        return this.symbolLimit;
+    }
+
+    @Override
+    public void encode(ArithmeticEncoder encoder, int symbol) throws IOException {
+        if(symbol < 0 || symbol >= this.symbolLimit) throw new IllegalArgumentException("Symbol außerhalb des Modells: " + symbol);
+        findContexts();
+        boolean coded = false;
+        for(int o = this.order; o >= 0 && !coded; o--) {
+            int slot = this.slots[o];
+            int total = this.totals[slot];
+            if(total == 0) continue; // nothing seen in this context, the decoder skips it as well
+            int base = slot * this.symbolLimit;
+            int count = this.counts[base + symbol];
+            int escapeTotal = total + this.distinct[slot];
+            if(count > 0) {
+                int cumLow = 0;
+                for(int s = base; s < base + symbol; s++) cumLow += this.counts[s];
+                encoder.write(cumLow, cumLow + count, escapeTotal);
+                coded = true;
+            } else {
+                encoder.write(total, escapeTotal, escapeTotal);
+            }
+        }
+        if(!coded) encoder.write(symbol, symbol + 1, this.symbolLimit);
+        update(symbol);
+    }
+
+    @Override
+    public int decode(ArithmeticDecoder decoder) throws IOException {
+        findContexts();
+        int symbol = -1;
+        for(int o = this.order; o >= 0 && symbol < 0; o--) {
+            int slot = this.slots[o];
+            int total = this.totals[slot];
+            if(total == 0) continue;
+            int escapeTotal = total + this.distinct[slot];
+            int target = decoder.target(escapeTotal);
+            if(target >= total) {
+                decoder.consume(total, escapeTotal, escapeTotal);
+                continue;
+            }
+            int base = slot * this.symbolLimit;
+            int cumLow = 0;
+            int s = 0;
+            while(cumLow + this.counts[base + s] <= target) cumLow += this.counts[base + s++];
+            decoder.consume(cumLow, cumLow + this.counts[base + s], escapeTotal);
+            symbol = s;
+        }
+        if(symbol < 0) {
+            symbol = decoder.target(this.symbolLimit);
+            decoder.consume(symbol, symbol + 1, this.symbolLimit);
+        }
+        update(symbol);
+        return symbol;
+    }
+
+    /**
+     * Looks up (or inserts) the slot of every order for the current history
+     */
+    private void findContexts() {
+        if(this.size + this.order + 1 > this.maxContexts) {
+            // bounded memory: start over instead of evicting single contexts
+            long kept = this.history;
+            reset();
+            this.history = kept;
+        }
+        for(int o = 0; o <= this.order; o++) {
+            long context = o == 0 ? 0 : this.history & ((1L << (8 * o)) - 1);
+            this.slots[o] = findSlot(((long) o << 56) | context);
+        }
+    }
+
+    /**
+     * Returns the slot of the key, an empty slot is taken for a new key
+     */
+    private int findSlot(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        int slot = (int) (hash ^ (hash >>> 32)) & this.mask;
+        while(this.keys[slot] != key) {
+            if(this.keys[slot] == EMPTY) {
+                this.keys[slot] = key;
+                this.size++;
+                return slot;
+            }
+            slot = (slot + 1) & this.mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Counts the symbol in the contexts of all orders and appends it to the history
+     */
+    private void update(int symbol) {
+        for(int o = 0; o <= this.order; o++) {
+            int slot = this.slots[o];
+            int index = slot * this.symbolLimit + symbol;
+            if(this.counts[index]++ == 0) this.distinct[slot]++;
+            if(++this.totals[slot] >= RESCALE_LIMIT) rescale(slot);
+        }
+        this.history = (this.history << 8) | (symbol & 0xFF);
+    }
+
+    /**
+     * Halves the counts of a context, seen symbols keep a count of at least 1
+     */
+    private void rescale(int slot) {
+        int base = slot * this.symbolLimit;
+        int total = 0;
+        for(int i = base; i < base + this.symbolLimit; i++) {
+            this.counts[i] = (this.counts[i] + 1) >>> 1;
+            total += this.counts[i];
+        }
+        this.totals[slot] = total;
+    }
+}
@@ -0,0 +1,40 @@
+package generators.compression.HelpersArithmetischeKodierung;
+
+/**
+ * Determines how many decimal places the exact interval arithmetic needs for a word.
+ * <p>
+ * The final interval of a word has the width p_1 * ... * p_n = 10^-I, where I is the information content of
+ * the word in decimal digits. If every border is rounded down to s decimal places, the borders only move inwards,
+ * so the intervals stay nested, and every step loses less than 10^-s of width. With s = ceil(I) + ceil(log10(n))
+ * + guard digits the n steps together lose less than a thousandth of the final width, so the final interval is
+ * never empty and every value within it lies in all intermediate intervals.
+ */
+public final class PrecisionBudget {
+
+    /**
+     * Digits added on top of the information content and the number of steps
+     */
+    static final int GUARD_DIGITS = 3;
+
+    private PrecisionBudget() {
+    }
+
+    /**
+     * Returns the number of decimal places the interval borders need
+     * @param frequencies the absolute frequency of every letter of the word
+     */
+    public static int requiredScale(int[] frequencies) {
+        long length = 0;
+        for(int frequency : frequencies) length += frequency;
+        if(length == 0) return GUARD_DIGITS;
+
+        // information content of the word in decimal digits: sum of n_i * -log10(z_i)
+        double digits = 0;
+        for(int frequency : frequencies) {
+            if(frequency > 0) digits += frequency * Math.log10((double) length / frequency);
+        }
+        long scale = (long) Math.ceil(digits) + (long) Math.ceil(Math.log10(length)) + GUARD_DIGITS;
+        if(scale > Integer.MAX_VALUE) throw new ArithmeticException("Das Wort ist zu lang für die exakte Intervallberechnung!");
+        return (int) scale;
+    }
+}
@@ -0,0 +1,78 @@
+package generators.compression.HelpersArithmetischeKodierung;
+
+/**
+ * Immutable precision settings of a {@link BigDecimalUtil} calculation: the number of decimal places of the result
+ * and the maximum number of iterations of a series or Newton loop. Every call gets its own context,
+ * so calculations with different precisions can run on several threads at the same time.
+ * <p>
+ * A series whose number of terms grows with the precision (the series of ln and exp) gets the iteration budget
+ * once for every 18 digits of its working precision, so the default budget suffices for thousands of digits.
+ */
+public final class PrecisionContext {
+
+    /**
+     * The settings the methods without a context use (18 decimal places, 1000 iterations)
+     */
+    public static final PrecisionContext DEFAULT = new PrecisionContext(18, 1000);
+
+    /**
+     * Number of decimal places of the result
+     */
+    private final int scale;
+    /**
+     * Maximum number of iterations of a single loop
+     */
+    private final long maxIterations;
+
+    /**
+     * Constructor of the context
+     * @param scale the number of decimal places of the result
+     * @param maxIterations the maximum number of iterations of a single loop
+     */
+    public PrecisionContext(int scale, long maxIterations) {
+        if(scale < 0) throw new IllegalArgumentException("Die Anzahl der Nachkommastellen darf nicht negativ sein!");
+        if(maxIterations <= 0) throw new IllegalArgumentException("Die Anzahl der Iterationen muss größer als Null sein!");
+        this.scale = scale;
+        this.maxIterations = maxIterations;
+    }
+
+    /**
+     * Returns a context with the given number of decimal places and the same iteration budget
+     * @param scale the number of decimal places of the result
+     */
+    public PrecisionContext withScale(int scale) {
+        return scale == this.scale ? this : new PrecisionContext(scale, this.maxIterations);
+    }
+
+    /**
+     * Getter for the number of decimal places of the result
+     */
+    public int getScale() {
+        return this.scale;
+    }
+
+    /**
+     * Getter for the maximum number of iterations of a single loop
+     */
+    public long getMaxIterations() {
+        return this.maxIterations;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if(this == o) return true;
+        if(!(o instanceof PrecisionContext)) return false;
+        PrecisionContext other = (PrecisionContext) o;
+        return this.scale == other.scale && this.maxIterations == other.maxIterations;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * this.scale + Long.hashCode(this.maxIterations);
+    }
+
+    @Override
+    public String toString() {
+        return "PrecisionContext[scale=" + this.scale + ", maxIterations=" + this.maxIterations + "]";
+    }
+}
@@ -0,0 +1,152 @@
+package generators.compression.HelpersArithmetischeKodierung;
+
+/**
+ * Range variant of asymmetric numeral systems (rANS) as an alternative to the arithmetic coding engine.
+ * The model is quantized to a power of two total, so decoding needs a table lookup, a multiplication and
+ * a shift per symbol instead of a division. Several states are interleaved (symbol i uses state i mod {@link #LANES}),
+ * so the dependency chains of successive symbols can overlap in the processor.
+ * <p>
+ * rANS works like a stack: the symbols are encoded backwards and the output is filled from the end,
+ * so the decoder reads the bytes and produces the symbols front to back.
+ */
+public class RansCoder {
+
+    /**
+     * Default binary logarithm of the quantized total
+     */
+    public static final int DEFAULT_SCALE_BITS = 15;
+    /**
+     * Largest supported binary logarithm of the quantized total
+     */
+    public static final int MAX_SCALE_BITS = 20;
+    /**
+     * Number of interleaved states
+     */
+    public static final int LANES = 4;
+    /**
+     * Lower bound of a normalized state, a state stays in [L, 256 * L)
+     */
+    static final int L = 1 << 23;
+
+    /**
+     * Binary logarithm of the quantized total
+     */
+    private final int scaleBits;
+    /**
+     * Quantized frequency of every symbol
+     */
+    private final int[] frequencies;
+    /**
+     * Quantized cumulative frequency of every symbol
+     */
+    private final int[] starts;
+    /**
+     * Maps every slot of [0, 2^scaleBits) to its symbol
+     */
+    private final SymbolLookupTable slots;
+
+    /**
+     * Creates a coder with the model of the given table
+     * @param table the model, it is quantized to 2^{@link #DEFAULT_SCALE_BITS} (or more if the alphabet is bigger)
+     */
+    public RansCoder(FrequencyTable table) {
+        this(table, DEFAULT_SCALE_BITS);
+    }
+
+    /**
+     * Constructor of the coder
+     * @param table the model
+     * @param scaleBits the minimal binary logarithm of the quantized total
+     */
+    public RansCoder(FrequencyTable table, int scaleBits) {
+        int[] counts = new int[table.getSymbolLimit()];
+        for(int i = 0; i < counts.length; i++) counts[i] = table.get(i);
+        this.scaleBits = FrequencyQuantizer.requiredBits(counts, scaleBits);
+        if(this.scaleBits > MAX_SCALE_BITS) throw new IllegalArgumentException("Das Alphabet ist zu groß für den rANS-Kodierer!");
+        this.frequencies = FrequencyQuantizer.quantize(counts, this.scaleBits);
+        this.starts = new int[counts.length];
+        for(int s = 1; s < counts.length; s++) this.starts[s] = this.starts[s - 1] + this.frequencies[s - 1];
+        // one slot per value of the quantized total, so every lookup hits its symbol directly
+        this.slots = new SymbolLookupTable(new StaticFrequencyTable(this.frequencies), this.scaleBits);
+    }
+
+    /**
+     * Encodes the symbols
+     * @param symbols the symbols (each with a frequency &gt; 0 in the model)
+     * @param count the number of symbols to encode
+     * @return the encoded bytes
+     */
+    public byte[] encode(int[] symbols, int count) {
+        // a symbol needs at most scaleBits bits plus one byte of renormalization slack
+        byte[] buffer = new byte[(int) Math.min(Integer.MAX_VALUE - 8, (long) count * ((this.scaleBits + 7) / 8 + 1) + LANES * 4)];
+        int pos = buffer.length;
+        int[] states = new int[LANES];
+        for(int lane = 0; lane < LANES; lane++) states[lane] = L;
+
+        for(int i = count - 1; i >= 0; i--) {
+            int symbol = symbols[i];
+            int frequency = this.frequencies[symbol];
+            if(frequency == 0) throw new IllegalArgumentException("Das Symbol " + symbol + " ist nicht Teil des Modells!");
+            int lane = i & (LANES - 1);
+            int x = states[lane];
+            long max = ((long) (L >>> this.scaleBits) << 8) * frequency;
+            while(x >= max) {
+                buffer[--pos] = (byte) x;
+                x >>>= 8;
+            }
+            states[lane] = ((x / frequency) << this.scaleBits) + (x % frequency) + this.starts[symbol];
+        }
+        for(int lane = LANES - 1; lane >= 0; lane--) {
+            int x = states[lane];
+            buffer[--pos] = (byte) x;
+            buffer[--pos] = (byte) (x >>> 8);
+            buffer[--pos] = (byte) (x >>> 16);
+            buffer[--pos] = (byte) (x >>> 24);
+        }
+        byte[] encoded = new byte[buffer.length - pos];
+        System.arraycopy(buffer, pos, encoded, 0, encoded.length);
+        return encoded;
+    }
+
+    /**
+     * Decodes symbols
+     * @param encoded the encoded bytes
+     * @param count the number of encoded symbols
+     * @return the symbols
+     */
+    public int[] decode(byte[] encoded, int count) {
+        int[] symbols = new int[count];
+        int[] states = new int[LANES];
+        int pos = 0;
+        for(int lane = 0; lane < LANES; lane++) {
+            states[lane] = ((encoded[pos] & 0xFF) << 24) | ((encoded[pos + 1] & 0xFF) << 16) | ((encoded[pos + 2] & 0xFF) << 8) | (encoded[pos + 3] & 0xFF);
+            pos += 4;
+        }
+        int mask = (1 << this.scaleBits) - 1;
+        for(int i = 0; i < count; i++) {
+            int lane = i & (LANES - 1);
+            int x = states[lane];
+            int slot = x & mask;
+            int symbol = this.slots.getSymbol(slot);
+            x = this.frequencies[symbol] * (x >>> this.scaleBits) + slot - this.starts[symbol];
+            while(x < L) x = (x << 8) | (encoded[pos++] & 0xFF);
+            states[lane] = x;
+            symbols[i] = symbol;
+        }
+        return symbols;
+    }
+
+    /**
+     * Getter for the binary logarithm of the quantized total
+     */
+    public int getScaleBits() {
+        return this.scaleBits;
+    }
+
+    /**
+     * Returns the quantized frequency of every symbol
+     */
+    public int[] getFrequencies() {
+        return this.frequencies.clone();
+    }
+}
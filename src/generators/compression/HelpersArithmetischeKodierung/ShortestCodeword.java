@@ -0,0 +1,103 @@
+package generators.compression.HelpersArithmetischeKodierung;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * The shortest binary fraction numerator / 2^length within an interval [low, high).
+ * It is found on the binary representation of the interval borders without any string conversion.
+ */
+public final class ShortestCodeword {
+
+    /**
+     * The odd numerator of the fraction (zero for the value 0)
+     */
+    private final BigInteger numerator;
+    /**
+     * Number of bits after the binary point
+     */
+    private final int length;
+
+    private ShortestCodeword(BigInteger numerator, int length) {
+        this.numerator = numerator;
+        this.length = length;
+    }
+
+    /**
+     * Finds the binary fraction with the least bits within the given interval
+     * @param low the start of the interval (inclusive), 0 &lt;= low
+     * @param high the end of the interval (exclusive), low &lt; high &lt;= 1
+     */
+    public static ShortestCodeword find(BigDecimal low, BigDecimal high) {
+        if(low.signum() < 0 || low.compareTo(high) >= 0 || high.compareTo(BigDecimal.ONE) > 0) {
+            throw new IllegalArgumentException("Ungültiges Intervall [" + low + ", " + high + ")");
+        }
+        if(low.signum() == 0) return new ShortestCodeword(BigInteger.ZERO, 0);
+
+        // both borders as integers over the same power of ten
+        int scale = Math.max(Math.max(low.scale(), high.scale()), 0);
+        BigInteger lowNumerator = low.setScale(scale).unscaledValue();
+        BigInteger highNumerator = high.setScale(scale).unscaledValue();
+        BigInteger denominator = BigInteger.TEN.pow(scale);
+
+        // choose a resolution 2^-bits which is at most half of the interval width
+        int bits = denominator.bitLength() - highNumerator.subtract(lowNumerator).bitLength() + 2;
+
+        // all multiples of 2^-bits within the interval: [first, last] * 2^-bits
+        BigInteger first = ceilDivide(lowNumerator.shiftLeft(bits), denominator);
+        BigInteger last = ceilDivide(highNumerator.shiftLeft(bits), denominator).subtract(BigInteger.ONE);
+
+        // first and last share all bits above the highest differing bit, the shortest value keeps only that prefix
+        BigInteger candidate;
+        int differingBit = first.xor(last).bitLength() - 1;
+        if(differingBit < 0 || first.getLowestSetBit() > differingBit) {
+            candidate = first; // first already ends with zeros below the differing bit
+        } else {
+            candidate = last.shiftRight(differingBit).shiftLeft(differingBit);
+        }
+
+        int trailingZeros = candidate.getLowestSetBit();
+        return new ShortestCodeword(candidate.shiftRight(trailingZeros), bits - trailingZeros);
+    }
+
+    /**
+     * Divides and rounds towards positive infinity (for non-negative values)
+     */
+    private static BigInteger ceilDivide(BigInteger dividend, BigInteger divisor) {
+        BigInteger[] result = dividend.divideAndRemainder(divisor);
+        return result[1].signum() == 0 ? result[0] : result[0].add(BigInteger.ONE);
+    }
+
+    /**
+     * Returns the number of bits of the codeword
+     */
+    public int getLength() {
+        return this.length;
+    }
+
+    /**
+     * Returns the numerator of the fraction numerator / 2^length
+     */
+    public BigInteger getNumerator() {
+        return this.numerator;
+    }
+
+    /**
+     * Returns the exact value of the codeword
+     */
+    public BigDecimal toBigDecimal() {
+        // numerator / 2^length = numerator * 5^length / 10^length
+        return new BigDecimal(this.numerator.multiply(BigInteger.valueOf(5).pow(this.length)), this.length);
+    }
+
+    /**
+     * Returns the bits of the codeword
+     */
+    public String toBinaryString() {
+        if(this.length == 0) return "";
+        String digits = this.numerator.toString(2);
+        StringBuilder sb = new StringBuilder(this.length);
+        for(int i = digits.length(); i < this.length; i++) sb.append('0');
+        return sb.append(digits).toString();
+    }
+}
@@ -0,0 +1,98 @@
+package generators.compression.HelpersArithmetischeKodierung;
+
+/**
+ * Entropy of the last symbols of a stream. Every new symbol updates the entropy in constant time,
+ * so the compressibility of a stream can be monitored while it is read.
+ */
+public class SlidingWindowEntropy {
+
+    /**
+     * Number of updates after which the sum is recomputed to remove accumulated rounding errors
+     */
+    private static final int RECOMPUTE_INTERVAL = 1 << 20;
+
+    /**
+     * The symbols within the window as ring buffer
+     */
+    private final int[] window;
+    /**
+     * The absolute frequency of every symbol within the window
+     */
+    private final int[] counts;
+    /**
+     * Position of the oldest symbol within the ring buffer
+     */
+    private int position;
+    /**
+     * Number of symbols within the window
+     */
+    private int size;
+    /**
+     * Sum of c * log2(c) over all counts
+     */
+    private double sum;
+    /**
+     * Number of updates since the last recomputation of the sum
+     */
+    private int updates;
+
+    /**
+     * Constructor of the sliding window
+     * @param windowSize the number of symbols the entropy is calculated for
+     * @param symbolLimit the number of different symbols (e.g. 256 for bytes)
+     */
+    public SlidingWindowEntropy(int windowSize, int symbolLimit) {
+        if(windowSize <= 0) throw new IllegalArgumentException("Das Fenster muss mindestens ein Zeichen groß sein!");
+        this.window = new int[windowSize];
+        this.counts = new int[symbolLimit];
+    }
+
+    /**
+     * Adds a symbol, the oldest symbol leaves the window if it is full
+     * @param symbol the symbol
+     */
+    public void add(int symbol) {
+        if(this.size == this.window.length) {
+            int oldest = this.window[this.position];
+            this.sum += EntropyCalculator.nLog2N(this.counts[oldest] - 1) - EntropyCalculator.nLog2N(this.counts[oldest]);
+            this.counts[oldest]--;
+        } else {
+            this.size++;
+        }
+        this.sum += EntropyCalculator.nLog2N(this.counts[symbol] + 1) - EntropyCalculator.nLog2N(this.counts[symbol]);
+        this.counts[symbol]++;
+        this.window[this.position] = symbol;
+        this.position = (this.position + 1) % this.window.length;
+
+        if(++this.updates == RECOMPUTE_INTERVAL) {
+            this.sum = 0;
+            for(int count : this.counts) this.sum += EntropyCalculator.nLog2N(count);
+            this.updates = 0;
+        }
+    }
+
+    /**
+     * Adds all bytes of the given array
+     * @param data the bytes
+     * @param off the first index
+     * @param len the number of bytes
+     */
+    public void add(byte[] data, int off, int len) {
+        for(int i = off; i < off + len; i++) add(data[i] & 0xFF);
+    }
+
+    /**
+     * Returns the entropy of the window in bits per symbol
+     */
+    public double entropyPerSymbol() {
+        if(this.size == 0) return 0;
+        return Math.max(EntropyCalculator.nLog2N(this.size) / this.size - this.sum / this.size, 0);
+    }
+
+    /**
+     * Returns the number of symbols within the window
+     */
+    public int size() {
+        return this.size;
+    }
+}
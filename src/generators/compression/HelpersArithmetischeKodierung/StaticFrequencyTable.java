@@ -0,0 +1,67 @@
+package generators.compression.HelpersArithmetischeKodierung;
+
+/**
+ * Immutable frequency table backed by an array of cumulative frequencies
+ */
+public class StaticFrequencyTable implements FrequencyTable {
+
+    /**
+     * cumulative[i] is the sum of the frequencies of all symbols smaller than i
+     */
+    private final int[] cumulative;
+
+    /**
+     * Creates a table from the absolute frequencies of the symbols
+     * @param frequencies the frequency of every symbol (index = symbol)
+     */
+    public StaticFrequencyTable(int[] frequencies) {
+        if(frequencies.length == 0) throw new IllegalArgumentException("Das Alphabet darf nicht leer sein!");
+        this.cumulative = new int[frequencies.length + 1];
+        long sum = 0;
+        for(int i = 0; i < frequencies.length; i++) {
+            if(frequencies[i] < 0) throw new IllegalArgumentException("Eine Häufigkeit darf nicht negativ sein!");
+            sum += frequencies[i];
+            if(sum > Integer.MAX_VALUE) throw new IllegalArgumentException("Die Summe der Häufigkeiten ist zu groß!");
+            this.cumulative[i + 1] = (int) sum;
+        }
+    }
+
+    @Override
+    public int getSymbolLimit() {
+        return this.cumulative.length - 1;
+    }
+
+    @Override
+    public int get(int symbol) {
+        return this.cumulative[symbol + 1] - this.cumulative[symbol];
+    }
+
+    @Override
+    public int getTotal() {
+        return this.cumulative[this.cumulative.length - 1];
+    }
+
+    @Override
+    public int getLow(int symbol) {
+        return this.cumulative[symbol];
+    }
+
+    @Override
+    public int getHigh(int symbol) {
+        return this.cumulative[symbol + 1];
+    }
+
+    @Override
+    public int getSymbol(int cumulative) {
+        if(cumulative < 0 || cumulative >= getTotal()) throw new IllegalArgumentException("Kumulative Häufigkeit außerhalb des Modells: " + cumulative);
+        // binary search for the biggest symbol whose interval starts at or before the value
+        int start = 0;
+        int end = this.cumulative.length - 1;
+        while(end - start > 1) {
+            int middle = (start + end) >>> 1;
+            if(this.cumulative[middle] > cumulative) end = middle;
+            else start = middle;
+        }
+        return start;
+    }
+}
@@ -0,0 +1,132 @@
+package generators.compression.HelpersArithmetischeKodierung;
+
+/**
+ * Decoder-side view of a frequency table which finds the symbol of a cumulative frequency with a table lookup.
+ * The cumulative range is split into at most 2^lookupBits slots and every slot stores the first symbol
+ * whose interval reaches into it. If a slot holds several symbols, the few following symbols are checked.
+ * The table is rebuilt lazily when the revision of the underlying model changes.
+ */
+public final class SymbolLookupTable implements FrequencyTable {
+
+    /**
+     * Default binary logarithm of the number of slots
+     */
+    public static final int DEFAULT_LOOKUP_BITS = 16;
+
+    /**
+     * The underlying model
+     */
+    private final FrequencyTable model;
+    /**
+     * Binary logarithm of the maximal number of slots
+     */
+    private final int lookupBits;
+    /**
+     * cumulative[i] is the sum of the frequencies of all symbols smaller than i
+     */
+    private int[] cumulative;
+    /**
+     * The first symbol of every slot
+     */
+    private int[] slots;
+    /**
+     * A cumulative frequency c belongs to the slot c &gt;&gt;&gt; shift
+     */
+    private int shift;
+    /**
+     * The revision of the model the table was built for
+     */
+    private long revision;
+
+    /**
+     * Creates a lookup table with up to 2^{@link #DEFAULT_LOOKUP_BITS} slots
+     * @param model the model
+     */
+    public SymbolLookupTable(FrequencyTable model) {
+        this(model, DEFAULT_LOOKUP_BITS);
+    }
+
+    /**
+     * Constructor of the lookup table
+     * @param model the model
+     * @param lookupBits the binary logarithm of the maximal number of slots, a total up to 2^lookupBits gets one slot per value
+     */
+    public SymbolLookupTable(FrequencyTable model, int lookupBits) {
+        if(lookupBits < 1 || lookupBits > 24) throw new IllegalArgumentException("Ungültige Anzahl an Bits: " + lookupBits);
+        this.model = model;
+        this.lookupBits = lookupBits;
+        rebuild();
+    }
+
+    /**
+     * Builds the cumulative frequencies and the slots from the model
+     */
+    private void rebuild() {
+        int limit = this.model.getSymbolLimit();
+        if(this.cumulative == null || this.cumulative.length != limit + 1) this.cumulative = new int[limit + 1];
+        for(int s = 0; s < limit; s++) this.cumulative[s + 1] = this.cumulative[s] + this.model.get(s);
+        int total = this.cumulative[limit];
+
+        int totalBits = 32 - Integer.numberOfLeadingZeros(Math.max(1, total - 1));
+        this.shift = Math.max(0, totalBits - this.lookupBits);
+        int slotCount = total == 0 ? 0 : ((total - 1) >>> this.shift) + 1;
+        if(this.slots == null || this.slots.length < slotCount) this.slots = new int[slotCount];
+        int symbol = 0;
+        for(int slot = 0; slot < slotCount; slot++) {
+            int start = slot << this.shift;
+            while(this.cumulative[symbol + 1] <= start) symbol++;
+            this.slots[slot] = symbol;
+        }
+        this.revision = this.model.getRevision();
+    }
+
+    /**
+     * Rebuilds the table if the model changed
+     */
+    private void update() {
+        if(this.model.getRevision() != this.revision) rebuild();
+    }
+
+    @Override
+    public int getSymbol(int cumulative) {
+        update();
+        if(cumulative < 0 || cumulative >= this.cumulative[this.cumulative.length - 1]) throw new IllegalArgumentException("Kumulative Häufigkeit außerhalb des Modells: " + cumulative);
+        int symbol = this.slots[cumulative >>> this.shift];
+        while(this.cumulative[symbol + 1] <= cumulative) symbol++;
+        return symbol;
+    }
+
+    @Override
+    public int getSymbolLimit() {
+        return this.cumulative.length - 1;
+    }
+
+    @Override
+    public int get(int symbol) {
+        update();
+        return this.cumulative[symbol + 1] - this.cumulative[symbol];
+    }
+
+    @Override
+    public int getTotal() {
+        update();
+        return this.cumulative[this.cumulative.length - 1];
+    }
+
+    @Override
+    public int getLow(int symbol) {
+        update();
+        return this.cumulative[symbol];
+    }
+
+    @Override
+    public int getHigh(int symbol) {
+        update();
+        return this.cumulative[symbol + 1];
+    }
+
+    @Override
+    public long getRevision() {
+        return this.model.getRevision();
+    }
+}
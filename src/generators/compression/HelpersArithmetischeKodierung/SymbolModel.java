@@ -0,0 +1,55 @@
+package generators.compression.HelpersArithmetischeKodierung;
+
+import java.io.IOException;
+
+/**
+ * Model which is consulted by the coder for every symbol. Unlike a {@link FrequencyTable} a model
+ * may code a symbol in several steps (e.g. escapes) and may learn from every coded symbol,
+ * so encoder and decoder have to see the same sequence of calls.
+ */
+public interface SymbolModel {
+
+    /**
+     * Returns the number of symbols of the model, symbols are 0 to limit-1
+     */
+    int getSymbolLimit();
+
+    /**
+     * Encodes the symbol and updates the model
+     * @param encoder the encoder
+     * @param symbol the symbol
+     */
+    void encode(ArithmeticEncoder encoder, int symbol) throws IOException;
+
+    /**
+     * Decodes a symbol and updates the model
+     * @param decoder the decoder
+     * @return the symbol
+     */
+    int decode(ArithmeticDecoder decoder) throws IOException;
+
+    /**
+     * Returns the model which codes every symbol with the given fixed frequencies
+     * @param table the frequencies
+     */
+    static SymbolModel of(FrequencyTable table) {
+        // a lookup table only pays off if the frequencies do not change
+        FrequencyTable decodeTable = table instanceof StaticFrequencyTable ? new SymbolLookupTable(table) : table;
+        return new SymbolModel() {
+            @Override
+            public int getSymbolLimit() {
+                return table.getSymbolLimit();
+            }
+
+            @Override
+            public void encode(ArithmeticEncoder encoder, int symbol) throws IOException {
+                encoder.write(table, symbol);
+            }
+
+            @Override
+            public int decode(ArithmeticDecoder decoder) throws IOException {
+                return decoder.read(decodeTable);
+            }
+        };
+    }
+}